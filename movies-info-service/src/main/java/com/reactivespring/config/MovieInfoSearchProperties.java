@@ -0,0 +1,15 @@
+package com.reactivespring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "movieinfos.search")
+public class MovieInfoSearchProperties {
+
+    private int defaultLimit = 10;
+    /**
+     * Larger limits are lowered to this size.
+     */
+    private int maxLimit = 100;
+}
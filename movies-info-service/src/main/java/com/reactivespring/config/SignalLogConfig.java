@@ -0,0 +1,20 @@
+package com.reactivespring.config;
+
+import com.reactivespring.util.SignalLogger;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SignalLogConfig {
+
+    public static final String CATEGORY = "com.reactivespring.signals";
+
+    @Bean
+    public SignalLogger signalLogger(SignalLogProperties signalLogProperties) {
+        var signalLogger = SignalLogger.of(CATEGORY).atLevel(signalLogProperties.getLevel());
+        if (signalLogProperties.getMaxPerSecond() > 0) {
+            return signalLogger.maxPerSecond(signalLogProperties.getMaxPerSecond());
+        }
+        return signalLogger.sampleOneIn(signalLogProperties.getSampleOneIn());
+    }
+}
@@ -0,0 +1,25 @@
+package com.reactivespring.config;
+
+import lombok.Data;
+import org.slf4j.event.Level;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The signals are logged under {@code com.reactivespring.signals.<pipeline>}, they are only written when that
+ * category is enabled for the level.
+ */
+@Data
+@ConfigurationProperties(prefix = "signal-log")
+public class SignalLogProperties {
+
+    private Level level = Level.DEBUG;
+    /**
+     * Logs one onNext or onComplete out of n per pipeline.
+     */
+    private long sampleOneIn = 1;
+    /**
+     * Logs at most n onNext or onComplete per second per pipeline, takes precedence over sample-one-in, 0 turns it
+     * off.
+     */
+    private long maxPerSecond = 0;
+}
@@ -0,0 +1,31 @@
+package com.reactivespring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "ticks.stream")
+public class TickStreamProperties {
+
+    private Duration period = Duration.ofSeconds(1);
+    /**
+     * Ticks kept for a subscriber that reads slower than the period.
+     */
+    private int bufferSize = 16;
+    private OverflowStrategy overflowStrategy = OverflowStrategy.DROP_OLDEST;
+    /**
+     * How long the timer keeps running after the last subscriber left, so reconnecting clients do not restart it.
+     */
+    private Duration gracePeriod = Duration.ofSeconds(5);
+
+    public enum OverflowStrategy {
+        DROP_OLDEST,
+        DROP_LATEST,
+        /**
+         * Ends the stream of the slow subscriber, the client is expected to reconnect.
+         */
+        DISCONNECT
+    }
+}
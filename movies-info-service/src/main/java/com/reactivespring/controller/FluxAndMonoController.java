@@ -1,28 +1,41 @@
 package com.reactivespring.controller;
 
+import com.reactivespring.stream.TickStream;
+import com.reactivespring.util.SignalLogger;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static java.time.Duration.ofSeconds;
-
 @RestController
 public class FluxAndMonoController {
 
+    private final TickStream tickStream;
+    private final SignalLogger fluxLogger;
+    private final SignalLogger monoLogger;
+
+    public FluxAndMonoController(TickStream tickStream, SignalLogger signalLogger) {
+        this.tickStream = tickStream;
+        this.fluxLogger = signalLogger.forPipeline("flux");
+        this.monoLogger = signalLogger.forPipeline("mono");
+    }
+
     @GetMapping("/flux")
     public Flux<Integer> flux() {
-        return Flux.just(1, 2, 3).log();
+        return Flux.just(1, 2, 3).transform(fluxLogger::flux);
     }
 
     @GetMapping("/mono")
     public Mono<String> helloWorldMono() {
-        return Mono.just("hello-world").log();
+        return Mono.just("hello-world").transform(monoLogger::mono);
     }
 
+    /**
+     * Every subscriber reads the same ticks, see {@link TickStream}.
+     */
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<Long> stream() {
-        return Flux.interval(ofSeconds(1)).log();
+        return tickStream.subscribe();
     }
 }
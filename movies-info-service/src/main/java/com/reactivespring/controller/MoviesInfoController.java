@@ -0,0 +1,87 @@
+package com.reactivespring.controller;
+
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.service.MoviesInfoService;
+import com.reactivespring.util.ETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/v1")
+@RequiredArgsConstructor
+public class MoviesInfoController {
+
+    private final MoviesInfoService moviesInfoService;
+
+    /**
+     * Streams the movie infos from the cursor, a year or a name is looked up through its index.
+     */
+    @GetMapping("/movieinfos")
+    public Flux<MovieInfo> getAllMovieInfos(@RequestParam(value = "year", required = false) Integer year,
+                                            @RequestParam(value = "name", required = false) String name) {
+        if (year != null) {
+            return moviesInfoService.getMovieInfoByYear(year);
+        }
+        if (name != null) {
+            return moviesInfoService.getMovieInfoByName(name);
+        }
+        return moviesInfoService.getAllMovieInfos();
+    }
+
+    @GetMapping("/movieinfos/search")
+    public Flux<MovieInfo> searchMovieInfos(@RequestParam("q") String query,
+                                            @RequestParam(value = "limit", required = false) Integer limit) {
+        return moviesInfoService.searchMovieInfos(query, limit);
+    }
+
+    /**
+     * Answered with an ETag of the content of the movie info, a request whose If-None-Match matches it gets a 304
+     * without a body.
+     */
+    @GetMapping("/movieinfos/{id}")
+    public Mono<ResponseEntity<MovieInfo>> getMovieInfoById(@PathVariable String id) {
+        return moviesInfoService.getMovieInfoById(id)
+                .map(movieInfo -> ResponseEntity.ok().eTag(eTag(movieInfo)).body(movieInfo))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/movieinfos")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<MovieInfo> addMovieInfo(@RequestBody @Valid MovieInfo movieInfo) {
+        return moviesInfoService.addMovieInfo(movieInfo);
+    }
+
+    @PutMapping("/movieinfos/{id}")
+    public Mono<ResponseEntity<MovieInfo>> updateMovieInfo(@RequestBody @Valid MovieInfo updatedMovieInfo,
+                                                           @PathVariable String id) {
+        return moviesInfoService.updateMovieInfo(updatedMovieInfo, id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/movieinfos/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteMovieInfo(@PathVariable String id) {
+        return moviesInfoService.deleteMovieInfo(id);
+    }
+
+    private static String eTag(MovieInfo movieInfo) {
+        return ETags.of(movieInfo.getMovieInfoId(), movieInfo.getName(), movieInfo.getYear(), movieInfo.getCast(),
+                movieInfo.getRelease_date());
+    }
+}
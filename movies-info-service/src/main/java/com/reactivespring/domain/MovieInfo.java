@@ -0,0 +1,36 @@
+package com.reactivespring.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Validated
+@Document
+public class MovieInfo {
+    @Id
+    private String movieInfoId;
+    @Indexed
+    @NotBlank(message = "movieInfo.name must be present")
+    private String name;
+    @Indexed
+    @NotNull
+    @Positive(message = "movieInfo.year must be a Positive Value")
+    private Integer year;
+
+    @NotNull
+    private List<@NotBlank(message = "movieInfo.cast must be present") String> cast;
+    private LocalDate release_date;
+}
@@ -0,0 +1,227 @@
+package com.reactivespring.search;
+
+import com.reactivespring.domain.MovieInfo;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Typeahead index over the normalized tokens of {@link MovieInfo#getName()} and {@link MovieInfo#getCast()}.
+ * <p>
+ * Tokens are kept in sorted maps, so a prefix is the range {@code [prefix, prefix + Character.MAX_VALUE)}
+ * and a lookup costs a log-time seek plus the matching postings. Postings are concurrent id sets updated in
+ * place, so a write costs the same whatever the size of the posting and reads stay lock-free; writes are serialized.
+ * <p>
+ * Only the ids, the names and the tokens are held, {@link #search(String, int)} answers ids and the movie infos
+ * are read from Mongo.
+ * <p>
+ * A build from Mongo reads a snapshot that can be older than the writes made while it runs. Between
+ * {@link #beginBuild()} and {@link #endBuild()} every id passed to {@link #put(MovieInfo)} or {@link #remove(String)}
+ * is remembered and {@link #putFromBuild(MovieInfo)} leaves it alone, the write is always the newer state.
+ */
+@Component
+public class MovieInfoSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int NAME_EXACT = 4;
+    private static final int NAME_PREFIX = 3;
+    private static final int CAST_EXACT = 2;
+    private static final int CAST_PREFIX = 1;
+
+    private static final Comparator<Ranked> RANKING = Comparator.comparingInt(Ranked::getScore).reversed()
+            .thenComparing(Ranked::getName, Comparator.nullsLast(String::compareTo))
+            .thenComparing(Ranked::getMovieInfoId);
+
+    private final NavigableMap<String, Set<String>> nameTokens = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<String>> castTokens = new ConcurrentSkipListMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> writtenDuringBuild = new HashSet<>();
+    private boolean building;
+
+    public synchronized void put(MovieInfo movieInfo) {
+        var id = movieInfo.getMovieInfoId();
+        if (id == null) {
+            return;
+        }
+        if (building) {
+            writtenDuringBuild.add(id);
+        }
+        index(id, movieInfo);
+    }
+
+    public synchronized void remove(String movieInfoId) {
+        if (building) {
+            writtenDuringBuild.add(movieInfoId);
+        }
+        unindex(movieInfoId);
+    }
+
+    public synchronized void beginBuild() {
+        building = true;
+        writtenDuringBuild.clear();
+    }
+
+    /**
+     * Indexes a movie info read by the build, unless it has been written since {@link #beginBuild()}.
+     */
+    public synchronized void putFromBuild(MovieInfo movieInfo) {
+        var id = movieInfo.getMovieInfoId();
+        if (id == null || writtenDuringBuild.contains(id)) {
+            return;
+        }
+        index(id, movieInfo);
+    }
+
+    public synchronized void endBuild() {
+        building = false;
+        writtenDuringBuild.clear();
+    }
+
+    private void index(String id, MovieInfo movieInfo) {
+        unindex(id);
+        var entry = new Entry(movieInfo.getName(), tokens(movieInfo.getName()), castTokens(movieInfo.getCast()));
+        entries.put(id, entry);
+        entry.getNameTokens().forEach(token -> addPosting(nameTokens, token, id));
+        entry.getCastTokens().forEach(token -> addPosting(castTokens, token, id));
+    }
+
+    private void unindex(String movieInfoId) {
+        var entry = entries.remove(movieInfoId);
+        if (entry == null) {
+            return;
+        }
+        entry.getNameTokens().forEach(token -> removePosting(nameTokens, token, movieInfoId));
+        entry.getCastTokens().forEach(token -> removePosting(castTokens, token, movieInfoId));
+    }
+
+    public synchronized void clear() {
+        nameTokens.clear();
+        castTokens.clear();
+        entries.clear();
+        writtenDuringBuild.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Every token of the query has to prefix a name or cast token of a movie. Name matches rank above cast
+     * matches and whole tokens above prefixes; ties are ordered by name. Only the best {@code limit} matches are
+     * kept while ranking, in a heap whose head is the worst of them.
+     *
+     * @return the ids of the matching movie infos, best match first
+     */
+    public List<String> search(String query, int limit) {
+        var queryTokens = tokens(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<String, Integer> scores = null;
+        for (var queryToken : queryTokens) {
+            var tokenScores = new HashMap<String, Integer>();
+            collect(nameTokens, queryToken, NAME_EXACT, NAME_PREFIX, tokenScores);
+            collect(castTokens, queryToken, CAST_EXACT, CAST_PREFIX, tokenScores);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                var previous = scores;
+                tokenScores.keySet().retainAll(previous.keySet());
+                tokenScores.replaceAll((id, score) -> score + previous.get(id));
+                scores = tokenScores;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        var best = new PriorityQueue<Ranked>(Math.min(limit, scores.size()) + 1, RANKING.reversed());
+        scores.forEach((id, score) -> {
+            var entry = entries.get(id);
+            if (entry == null) {
+                return;
+            }
+            best.offer(new Ranked(id, entry.getName(), score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        var ids = new String[best.size()];
+        for (var i = ids.length - 1; i >= 0; i--) {
+            ids[i] = best.poll().getMovieInfoId();
+        }
+        return List.of(ids);
+    }
+
+    static Set<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        var normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        var tokens = new LinkedHashSet<String>();
+        for (var token : SEPARATORS.split(normalized.toLowerCase())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> castTokens(List<String> cast) {
+        if (cast == null) {
+            return Set.of();
+        }
+        var tokens = new LinkedHashSet<String>();
+        cast.forEach(member -> tokens.addAll(tokens(member)));
+        return tokens;
+    }
+
+    private static void collect(NavigableMap<String, Set<String>> index, String prefix, int exact, int partial,
+                                Map<String, Integer> scores) {
+        index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).forEach((token, ids) -> {
+            var score = token.length() == prefix.length() ? exact : partial;
+            ids.forEach(id -> scores.merge(id, score, Math::max));
+        });
+    }
+
+    private static void addPosting(NavigableMap<String, Set<String>> index, String token, String id) {
+        index.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static void removePosting(NavigableMap<String, Set<String>> index, String token, String id) {
+        var ids = index.get(token);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(token);
+        }
+    }
+
+    @Value
+    private static class Entry {
+        String name;
+        Set<String> nameTokens;
+        Set<String> castTokens;
+    }
+
+    @Value
+    private static class Ranked {
+        String movieInfoId;
+        String name;
+        int score;
+    }
+}
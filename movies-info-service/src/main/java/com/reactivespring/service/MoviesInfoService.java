@@ -0,0 +1,101 @@
+package com.reactivespring.service;
+
+import com.reactivespring.config.MovieInfoSearchProperties;
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.repository.MovieInfoRepository;
+import com.reactivespring.search.MovieInfoSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MoviesInfoService {
+
+    private final MovieInfoRepository movieInfoRepository;
+    private final MovieInfoSearchIndex searchIndex;
+    private final MovieInfoSearchProperties searchProperties;
+
+    /**
+     * Writes made while the build reads the movie infos win over what the build read, see
+     * {@link MovieInfoSearchIndex}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        Flux.defer(() -> {
+                    searchIndex.beginBuild();
+                    return movieInfoRepository.findAll();
+                })
+                .doOnNext(searchIndex::putFromBuild)
+                .count()
+                .doFinally(signal -> searchIndex.endBuild())
+                .subscribe(count -> log.info("Search index built from {} movie infos", count),
+                        ex -> log.error("Exception building the search index : {}", ex.getMessage(), ex));
+    }
+
+    public Mono<MovieInfo> addMovieInfo(MovieInfo movieInfo) {
+        return movieInfoRepository.save(movieInfo)
+                .doOnNext(searchIndex::put);
+    }
+
+    /**
+     * The index ranks the ids, the movie infos are read with a single $in query and put back in that order. A movie
+     * info deleted in between is left out.
+     */
+    public Flux<MovieInfo> searchMovieInfos(String query, Integer limit) {
+        var size = limit == null ? searchProperties.getDefaultLimit() : Math.min(limit, searchProperties.getMaxLimit());
+        return Flux.defer(() -> {
+            var ids = searchIndex.search(query, size);
+            if (ids.isEmpty()) {
+                return Flux.empty();
+            }
+            return movieInfoRepository.findAllById(ids)
+                    .collectMap(MovieInfo::getMovieInfoId)
+                    .flatMapIterable(movieInfos -> ids.stream()
+                            .map(movieInfos::get)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList()));
+        });
+    }
+
+    public Flux<MovieInfo> getAllMovieInfos() {
+        return movieInfoRepository.findAll();
+    }
+
+    public Flux<MovieInfo> getMovieInfoByYear(Integer year) {
+        return movieInfoRepository.findByYear(year);
+    }
+
+    public Flux<MovieInfo> getMovieInfoByName(String name) {
+        return movieInfoRepository.findByName(name);
+    }
+
+    public Mono<MovieInfo> getMovieInfoById(String id) {
+        return movieInfoRepository.findById(id);
+    }
+
+    public Mono<MovieInfo> updateMovieInfo(MovieInfo updatedMovieInfo, String id) {
+        return movieInfoRepository.findById(id)
+                .flatMap(movieInfo -> {
+                    movieInfo.setCast(updatedMovieInfo.getCast());
+                    movieInfo.setName(updatedMovieInfo.getName());
+                    movieInfo.setRelease_date(updatedMovieInfo.getRelease_date());
+                    movieInfo.setYear(updatedMovieInfo.getYear());
+                    return movieInfoRepository.save(movieInfo);
+                })
+                .doOnNext(searchIndex::put);
+    }
+
+    public Mono<Void> deleteMovieInfo(String id) {
+        return movieInfoRepository.deleteById(id)
+                .doOnSuccess(ignored -> searchIndex.remove(id));
+    }
+}
@@ -0,0 +1,59 @@
+package com.reactivespring.stream;
+
+import com.reactivespring.config.TickStreamProperties;
+import com.reactivespring.util.SignalLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * One timer shared by every subscriber of /stream instead of one interval per subscriber. The timer starts with
+ * the first subscriber and stops once the last one has been gone for the grace period, a subscriber joining a
+ * running timer starts at the current tick.
+ * Each subscriber reads through its own bounded buffer: a subscriber that falls behind only loses ticks from its
+ * own buffer, or is disconnected, while the others keep receiving them.
+ */
+@Slf4j
+@Component
+public class TickStream {
+
+    private final TickStreamProperties properties;
+    private final Flux<Long> ticks;
+
+    @Autowired
+    public TickStream(TickStreamProperties properties, SignalLogger signalLogger) {
+        this(properties, signalLogger, Schedulers.parallel());
+    }
+
+    /**
+     * The ticks are logged once, before they are shared, not once per subscriber.
+     */
+    public TickStream(TickStreamProperties properties, SignalLogger signalLogger, Scheduler scheduler) {
+        this.properties = properties;
+        this.ticks = Flux.interval(properties.getPeriod(), scheduler)
+                .transform(signalLogger.forPipeline("ticks")::flux)
+                .publish()
+                .refCount(1, properties.getGracePeriod(), scheduler);
+    }
+
+    public Flux<Long> subscribe() {
+        var bufferSize = properties.getBufferSize();
+        switch (properties.getOverflowStrategy()) {
+            case DROP_LATEST:
+                return ticks.onBackpressureBuffer(bufferSize,
+                        tick -> log.debug("Dropped tick {} for a slow subscriber", tick),
+                        BufferOverflowStrategy.DROP_LATEST);
+            case DISCONNECT:
+                return ticks.onBackpressureBuffer(bufferSize)
+                        .doOnError(ex -> log.info("Disconnecting a slow subscriber : {}", ex.getMessage()));
+            default:
+                return ticks.onBackpressureBuffer(bufferSize,
+                        tick -> log.debug("Dropped tick {} for a slow subscriber", tick),
+                        BufferOverflowStrategy.DROP_OLDEST);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.reactivespring.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs onNext, onComplete and onError of a pipeline in place of {@code .log()}, applied with
+ * {@code .transform(signalLogger::flux)}. The level is checked before anything is formatted, onNext and onComplete
+ * are sampled 1 in n or limited to n per second, errors are always logged.
+ * The bean is configured by {@link com.reactivespring.config.SignalLogProperties}, {@link #forPipeline(String)}
+ * gives every pipeline a category and sampling state of its own.
+ */
+public final class SignalLogger {
+
+    private final Logger logger;
+    private final Level level;
+    private final long sampleOneIn;
+    private final long maxPerSecond;
+
+    private final AtomicLong signals = new AtomicLong();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong windowSignals = new AtomicLong();
+
+    private SignalLogger(String category, Level level, long sampleOneIn, long maxPerSecond) {
+        this.logger = LoggerFactory.getLogger(category);
+        this.level = level;
+        this.sampleOneIn = sampleOneIn;
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    /**
+     * Logs every signal at DEBUG.
+     */
+    public static SignalLogger of(String category) {
+        return new SignalLogger(category, Level.DEBUG, 1, 0);
+    }
+
+    public SignalLogger atLevel(Level level) {
+        return new SignalLogger(logger.getName(), level, sampleOneIn, maxPerSecond);
+    }
+
+    /**
+     * Logs one signal out of n, replaces a rate limit.
+     */
+    public SignalLogger sampleOneIn(long n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("sampleOneIn must be at least 1 : " + n);
+        }
+        return new SignalLogger(logger.getName(), level, n, 0);
+    }
+
+    /**
+     * Logs at most n signals per second, replaces a 1 in n sampling.
+     */
+    public SignalLogger maxPerSecond(long n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("maxPerSecond must be at least 1 : " + n);
+        }
+        return new SignalLogger(logger.getName(), level, 1, n);
+    }
+
+    /**
+     * Same settings under the category {@code <category>.<pipeline>}, with sampling state of its own.
+     */
+    public SignalLogger forPipeline(String pipeline) {
+        return new SignalLogger(logger.getName() + "." + pipeline, level, sampleOneIn, maxPerSecond);
+    }
+
+    public <T> Flux<T> flux(Flux<T> source) {
+        return source.doOnEach(this::log);
+    }
+
+    public <T> Mono<T> mono(Mono<T> source) {
+        return source.doOnEach(this::log);
+    }
+
+    private void log(Signal<?> signal) {
+        if (signal.isOnError()) {
+            if (logger.isErrorEnabled()) {
+                logger.error("onError({})", signal.getThrowable().toString(), signal.getThrowable());
+            }
+            return;
+        }
+        if (!isEnabled() || !sample()) {
+            return;
+        }
+        if (signal.isOnNext()) {
+            write("onNext({})", signal.get());
+        } else if (signal.isOnComplete()) {
+            write("onComplete()", null);
+        }
+    }
+
+    boolean isEnabled() {
+        switch (level) {
+            case TRACE:
+                return logger.isTraceEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case WARN:
+                return logger.isWarnEnabled();
+            default:
+                return logger.isErrorEnabled();
+        }
+    }
+
+    boolean sample() {
+        if (maxPerSecond > 0) {
+            var now = System.nanoTime();
+            var start = windowStart.get();
+            if (now - start >= TimeUnit.SECONDS.toNanos(1) && windowStart.compareAndSet(start, now)) {
+                windowSignals.set(0);
+            }
+            return windowSignals.incrementAndGet() <= maxPerSecond;
+        }
+        return sampleOneIn == 1 || signals.getAndIncrement() % sampleOneIn == 0;
+    }
+
+    private void write(String format, Object argument) {
+        switch (level) {
+            case TRACE:
+                logger.trace(format, argument);
+                break;
+            case DEBUG:
+                logger.debug(format, argument);
+                break;
+            case INFO:
+                logger.info(format, argument);
+                break;
+            case WARN:
+                logger.warn(format, argument);
+                break;
+            default:
+                logger.error(format, argument);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.reactivespring.controller;
+
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.repository.MovieInfoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class MoviesInfoControllerIntgTest {
+
+    private static final String MOVIE_INFOS_URL = "/v1/movieinfos";
+
+    @Autowired
+    MovieInfoRepository movieInfoRepository;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        var movieinfos = List.of(new MovieInfo(null, "Batman Begins",
+                        2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")),
+                new MovieInfo(null, "The Dark Knight",
+                        2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")),
+                new MovieInfo("abc", "Dark Knight Rises",
+                        2012, List.of("Christian Bale", "Tom Hardy"), LocalDate.parse("2012-07-20")));
+
+        movieInfoRepository.saveAll(movieinfos).blockLast();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieInfoRepository.deleteAll().block();
+    }
+
+    @Test
+    void addMovieInfo() {
+        //given
+        var movieInfo = new MovieInfo(null, "Batman Begins1",
+                2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+
+        //when
+        webTestClient.post()
+                .uri(MOVIE_INFOS_URL)
+                .bodyValue(movieInfo)
+                .exchange()
+                //then
+                .expectStatus().isCreated()
+                .expectBody(MovieInfo.class)
+                .consumeWith(result -> {
+                    var savedMovieInfo = result.getResponseBody();
+                    assertNotNull(savedMovieInfo);
+                    assertNotNull(savedMovieInfo.getMovieInfoId());
+                });
+    }
+
+    @Test
+    void getAllMovieInfos() {
+        //when
+        webTestClient.get()
+                .uri(MOVIE_INFOS_URL)
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBodyList(MovieInfo.class)
+                .hasSize(3);
+    }
+
+    @Test
+    void getMovieInfoByYearStreams() {
+        //when
+        var movieInfoFlux = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(MOVIE_INFOS_URL).queryParam("year", 2005).build())
+                .exchange()
+                .expectStatus().is2xxSuccessful()
+                .returnResult(MovieInfo.class)
+                .getResponseBody();
+
+        //then
+        StepVerifier.create(movieInfoFlux)
+                .expectNextMatches(movieInfo -> movieInfo.getName().equals("Batman Begins"))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchMovieInfosFollowsWrites() {
+        //given
+        var movieInfo = new MovieInfo(null, "Batman Returns",
+                1992, List.of("Michael Keaton"), LocalDate.parse("1992-06-19"));
+        webTestClient.post()
+                .uri(MOVIE_INFOS_URL)
+                .bodyValue(movieInfo)
+                .exchange()
+                .expectStatus().isCreated();
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(MOVIE_INFOS_URL + "/search").queryParam("q", "keat").build())
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBodyList(MovieInfo.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void getMovieInfoById() {
+        //when
+        webTestClient.get()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Dark Knight Rises");
+    }
+
+    @Test
+    void getMovieInfoByIdNotFound() {
+        //when
+        webTestClient.get()
+                .uri(MOVIE_INFOS_URL + "/{id}", "def")
+                .exchange()
+                //then
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void updateMovieInfo() {
+        //given
+        var movieInfo = new MovieInfo(null, "Dark Knight Rises1",
+                2013, List.of("Christian Bale1", "Tom Hardy1"), LocalDate.parse("2012-07-20"));
+
+        //when
+        webTestClient.put()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .bodyValue(movieInfo)
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBody(MovieInfo.class)
+                .consumeWith(result -> {
+                    var updatedMovieInfo = result.getResponseBody();
+                    assertNotNull(updatedMovieInfo);
+                    assertEquals("Dark Knight Rises1", updatedMovieInfo.getName());
+                    assertEquals(2013, updatedMovieInfo.getYear());
+                });
+    }
+
+    @Test
+    void deleteMovieInfo() {
+        //when
+        webTestClient.delete()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .exchange()
+                //then
+                .expectStatus().isNoContent();
+
+        StepVerifier.create(movieInfoRepository.findById("abc"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,78 @@
+package com.reactivespring.repository;
+
+import com.reactivespring.domain.MovieInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@DataMongoTest
+class MovieInfoRepositoryIntgTest {
+
+    @Autowired
+    MovieInfoRepository movieInfoRepository;
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        var movieinfos = List.of(new MovieInfo(null, "Batman Begins",
+                        2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")),
+                new MovieInfo(null, "The Dark Knight",
+                        2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")),
+                new MovieInfo("abc", "Dark Knight Rises",
+                        2012, List.of("Christian Bale", "Tom Hardy"), LocalDate.parse("2012-07-20")));
+
+        movieInfoRepository.saveAll(movieinfos).blockLast();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieInfoRepository.deleteAll().block();
+    }
+
+    @Test
+    void findByYear() {
+        //when
+        var moviesInfoFlux = movieInfoRepository.findByYear(2005).log();
+
+        //then
+        StepVerifier.create(moviesInfoFlux)
+                .expectNextMatches(movieInfo -> movieInfo.getName().equals("Batman Begins"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findByName() {
+        //when
+        var moviesInfoFlux = movieInfoRepository.findByName("Dark Knight Rises").log();
+
+        //then
+        StepVerifier.create(moviesInfoFlux)
+                .expectNextMatches(movieInfo -> movieInfo.getMovieInfoId().equals("abc"))
+                .verifyComplete();
+    }
+
+    @Test
+    void yearAndNameAreIndexed() {
+        //when
+        var indexedFields = reactiveMongoTemplate.indexOps(MovieInfo.class).getIndexInfo()
+                .flatMapIterable(IndexInfo::getIndexFields)
+                .map(field -> field.getKey())
+                .filter(key -> !key.equals("_id"))
+                .sort();
+
+        //then
+        StepVerifier.create(indexedFields)
+                .expectNext("name", "year")
+                .verifyComplete();
+    }
+}
@@ -1,10 +1,16 @@
 package com.reactivespring.controller;
 
+import com.reactivespring.config.SignalLogConfig;
+import com.reactivespring.config.SignalLogProperties;
+import com.reactivespring.config.TickStreamProperties;
+import com.reactivespring.stream.TickStream;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.test.StepVerifier;
 
@@ -13,6 +19,8 @@ import java.util.Objects;
 import static org.junit.jupiter.api.Assertions.*;
 
 @WebFluxTest(controllers = FluxAndMonoController.class)
+@Import({TickStream.class, SignalLogConfig.class})
+@EnableConfigurationProperties({TickStreamProperties.class, SignalLogProperties.class})
 @AutoConfigureWebTestClient
 class FluxAndMonoControllerTest {
 
@@ -0,0 +1,270 @@
+package com.reactivespring.controller;
+
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.service.MoviesInfoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = MoviesInfoController.class)
+@AutoConfigureWebTestClient
+class MoviesInfoControllerUnitTest {
+
+    private static final String MOVIE_INFOS_URL = "/v1/movieinfos";
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    MoviesInfoService moviesInfoService;
+
+    @Test
+    void getAllMovieInfos() {
+        //given
+        when(moviesInfoService.getAllMovieInfos()).thenReturn(Flux.fromIterable(movieInfos()));
+
+        //when
+        webTestClient.get()
+                .uri(MOVIE_INFOS_URL)
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBodyList(MovieInfo.class)
+                .hasSize(3);
+    }
+
+    @Test
+    void getMovieInfoByYear() {
+        //given
+        when(moviesInfoService.getMovieInfoByYear(isA(Integer.class)))
+                .thenReturn(Flux.fromIterable(movieInfos()).filter(movieInfo -> movieInfo.getYear() == 2005));
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(MOVIE_INFOS_URL).queryParam("year", 2005).build())
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBodyList(MovieInfo.class)
+                .hasSize(1);
+
+        verify(moviesInfoService, never()).getAllMovieInfos();
+    }
+
+    @Test
+    void searchMovieInfos() {
+        //given
+        when(moviesInfoService.searchMovieInfos("dark", 5))
+                .thenReturn(Flux.fromIterable(movieInfos()).filter(movieInfo -> movieInfo.getName().contains("Dark")));
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(MOVIE_INFOS_URL + "/search")
+                        .queryParam("q", "dark")
+                        .queryParam("limit", 5)
+                        .build())
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBodyList(MovieInfo.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void getMovieInfoById() {
+        //given
+        when(moviesInfoService.getMovieInfoById("abc")).thenReturn(Mono.just(movieInfos().get(2)));
+
+        //when
+        webTestClient.get()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Dark Knight Rises");
+    }
+
+    @Test
+    void getMovieInfoByIdNotModified() {
+        //given
+        when(moviesInfoService.getMovieInfoById("abc")).thenReturn(Mono.just(movieInfos().get(2)));
+        var eTag = webTestClient.get()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .exchange()
+                .expectStatus().is2xxSuccessful()
+                .returnResult(MovieInfo.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when
+        webTestClient.get()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                //then
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getMovieInfoByIdChangedContent() {
+        //given
+        var movieInfo = movieInfos().get(2);
+        when(moviesInfoService.getMovieInfoById("abc")).thenReturn(Mono.just(movieInfo));
+        var eTag = webTestClient.get()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .exchange()
+                .returnResult(MovieInfo.class)
+                .getResponseHeaders()
+                .getETag();
+        movieInfo.setYear(2013);
+
+        //when
+        webTestClient.get()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                //then
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.year").isEqualTo(2013);
+    }
+
+    @Test
+    void getMovieInfoByIdNotFound() {
+        //given
+        when(moviesInfoService.getMovieInfoById(anyString())).thenReturn(Mono.empty());
+
+        //when
+        webTestClient.get()
+                .uri(MOVIE_INFOS_URL + "/{id}", "def")
+                .exchange()
+                //then
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void addMovieInfo() {
+        //given
+        var movieInfo = new MovieInfo(null, "Batman Begins1",
+                2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+        when(moviesInfoService.addMovieInfo(isA(MovieInfo.class)))
+                .thenReturn(Mono.just(new MovieInfo("mockId", "Batman Begins1",
+                        2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"))));
+
+        //when
+        webTestClient.post()
+                .uri(MOVIE_INFOS_URL)
+                .bodyValue(movieInfo)
+                .exchange()
+                //then
+                .expectStatus().isCreated()
+                .expectBody(MovieInfo.class)
+                .consumeWith(result -> {
+                    var savedMovieInfo = result.getResponseBody();
+                    assertNotNull(savedMovieInfo);
+                    assertEquals("mockId", savedMovieInfo.getMovieInfoId());
+                });
+    }
+
+    @Test
+    void addMovieInfoValidation() {
+        //given
+        var movieInfo = new MovieInfo(null, "",
+                -2005, List.of(""), LocalDate.parse("2005-06-15"));
+
+        //when
+        webTestClient.post()
+                .uri(MOVIE_INFOS_URL)
+                .bodyValue(movieInfo)
+                .exchange()
+                //then
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                .isEqualTo("movieInfo.cast must be present,movieInfo.name must be present,"
+                        + "movieInfo.year must be a Positive Value");
+
+        verify(moviesInfoService, never()).addMovieInfo(any());
+    }
+
+    @Test
+    void updateMovieInfo() {
+        //given
+        var movieInfo = new MovieInfo(null, "Dark Knight Rises1",
+                2013, List.of("Christian Bale1", "Tom Hardy1"), LocalDate.parse("2012-07-20"));
+        when(moviesInfoService.updateMovieInfo(isA(MovieInfo.class), isA(String.class)))
+                .thenReturn(Mono.just(new MovieInfo("abc", "Dark Knight Rises1",
+                        2013, List.of("Christian Bale1", "Tom Hardy1"), LocalDate.parse("2012-07-20"))));
+
+        //when
+        webTestClient.put()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .bodyValue(movieInfo)
+                .exchange()
+                //then
+                .expectStatus().is2xxSuccessful()
+                .expectBody(MovieInfo.class)
+                .consumeWith(result -> {
+                    var updatedMovieInfo = result.getResponseBody();
+                    assertNotNull(updatedMovieInfo);
+                    assertEquals("Dark Knight Rises1", updatedMovieInfo.getName());
+                });
+    }
+
+    @Test
+    void updateMovieInfoNotFound() {
+        //given
+        var movieInfo = new MovieInfo(null, "Dark Knight Rises1",
+                2013, List.of("Christian Bale1", "Tom Hardy1"), LocalDate.parse("2012-07-20"));
+        when(moviesInfoService.updateMovieInfo(isA(MovieInfo.class), isA(String.class))).thenReturn(Mono.empty());
+
+        //when
+        webTestClient.put()
+                .uri(MOVIE_INFOS_URL + "/{id}", "def")
+                .bodyValue(movieInfo)
+                .exchange()
+                //then
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteMovieInfo() {
+        //given
+        when(moviesInfoService.deleteMovieInfo(isA(String.class))).thenReturn(Mono.empty());
+
+        //when
+        webTestClient.delete()
+                .uri(MOVIE_INFOS_URL + "/{id}", "abc")
+                .exchange()
+                //then
+                .expectStatus().isNoContent();
+    }
+
+    private static List<MovieInfo> movieInfos() {
+        return List.of(new MovieInfo(null, "Batman Begins",
+                        2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")),
+                new MovieInfo(null, "The Dark Knight",
+                        2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")),
+                new MovieInfo("abc", "Dark Knight Rises",
+                        2012, List.of("Christian Bale", "Tom Hardy"), LocalDate.parse("2012-07-20")));
+    }
+}
@@ -0,0 +1,193 @@
+package com.reactivespring.search;
+
+import com.reactivespring.domain.MovieInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MovieInfoSearchIndexTest {
+
+    MovieInfoSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new MovieInfoSearchIndex();
+        searchIndex.put(new MovieInfo("1", "Batman Begins",
+                2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")));
+        searchIndex.put(new MovieInfo("2", "The Dark Knight",
+                2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")));
+        searchIndex.put(new MovieInfo("3", "Dark Knight Rises",
+                2012, List.of("Christian Bale", "Tom Hardy"), LocalDate.parse("2012-07-20")));
+        searchIndex.put(new MovieInfo("4", "Am\u00e9lie",
+                2001, List.of("Audrey Tautou"), LocalDate.parse("2001-04-25")));
+    }
+
+    @Test
+    void searchByNamePrefix() {
+        //when
+        var result = searchIndex.search("bat", 10);
+
+        //then
+        assertEquals(List.of("1"), result);
+    }
+
+    @Test
+    void searchMatchesEveryQueryToken() {
+        //when
+        var result = searchIndex.search("dark ri", 10);
+
+        //then
+        assertEquals(List.of("3"), result);
+    }
+
+    @Test
+    void searchRanksNameAboveCastMatches() {
+        //given
+        searchIndex.put(new MovieInfo("5", "Hardy Boys",
+                1977, List.of("Parker Stevenson"), LocalDate.parse("1977-01-30")));
+
+        //when
+        var result = searchIndex.search("hardy", 10);
+
+        //then
+        assertEquals(List.of("5", "3"), result);
+    }
+
+    @Test
+    void searchIsCaseAndAccentInsensitive() {
+        //when
+        var result = searchIndex.search("AMELIE", 10);
+
+        //then
+        assertEquals(List.of("4"), result);
+    }
+
+    @Test
+    void searchIsLimited() {
+        //when
+        var result = searchIndex.search("christian", 2);
+
+        //then
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void searchKeepsTheBestMatchesWithinTheLimit() {
+        //when - every movie has a Christian Bale cast match, the names break the tie
+        var result = searchIndex.search("christian", 2);
+
+        //then
+        assertEquals(List.of("1", "3"), result);
+    }
+
+    @Test
+    void searchRanksBeforeLimiting() {
+        //given
+        searchIndex.put(new MovieInfo("5", "Christian",
+                2000, List.of(), LocalDate.parse("2000-01-01")));
+
+        //when
+        var result = searchIndex.search("christian", 1);
+
+        //then
+        assertEquals(List.of("5"), result);
+    }
+
+    @Test
+    void buildLeavesWrittenMovieInfosAlone() {
+        //given
+        searchIndex.clear();
+        searchIndex.beginBuild();
+        searchIndex.put(new MovieInfo("1", "Batman Returns",
+                1992, List.of("Michael Keaton"), LocalDate.parse("1992-06-19")));
+        searchIndex.remove("2");
+
+        //when - the build read its snapshot before those writes
+        searchIndex.putFromBuild(new MovieInfo("1", "Batman Begins",
+                2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")));
+        searchIndex.putFromBuild(new MovieInfo("2", "The Dark Knight",
+                2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")));
+        searchIndex.putFromBuild(new MovieInfo("3", "Dark Knight Rises",
+                2012, List.of("Christian Bale", "Tom Hardy"), LocalDate.parse("2012-07-20")));
+        searchIndex.endBuild();
+
+        //then
+        assertEquals(List.of("1"), searchIndex.search("returns", 10));
+        assertTrue(searchIndex.search("begins", 10).isEmpty());
+        assertEquals(List.of("3"), searchIndex.search("knight", 10));
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void writesAfterTheBuildAreNotRemembered() {
+        //given
+        searchIndex.beginBuild();
+        searchIndex.remove("2");
+        searchIndex.endBuild();
+
+        //when
+        searchIndex.beginBuild();
+        searchIndex.putFromBuild(new MovieInfo("2", "The Dark Knight",
+                2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")));
+        searchIndex.endBuild();
+
+        //then
+        assertEquals(List.of("2"), searchIndex.search("heathledger", 10));
+    }
+
+    @Test
+    void putReplacesPreviousTokens() {
+        //given
+        searchIndex.put(new MovieInfo("1", "Batman Returns",
+                1992, List.of("Michael Keaton"), LocalDate.parse("1992-06-19")));
+
+        //when
+        var begins = searchIndex.search("begins", 10);
+        var returns = searchIndex.search("returns", 10);
+
+        //then
+        assertTrue(begins.isEmpty());
+        assertEquals(List.of("1"), returns);
+        assertEquals(4, searchIndex.size());
+    }
+
+    @Test
+    void removeDropsMovieInfo() {
+        //when
+        searchIndex.remove("2");
+
+        //then
+        assertEquals(List.of("3"), searchIndex.search("knight", 10));
+        assertTrue(searchIndex.search("heathledger", 10).isEmpty());
+    }
+
+    @Test
+    void removeKeepsTheOtherIdsOfASharedToken() {
+        //when
+        searchIndex.remove("1");
+        searchIndex.remove("2");
+        var bale = searchIndex.search("bale", 10);
+        searchIndex.remove("3");
+
+        //then
+        assertEquals(List.of("3"), bale);
+        assertTrue(searchIndex.search("bale", 10).isEmpty());
+        searchIndex.put(new MovieInfo("5", "The Prestige",
+                2006, List.of("Christian Bale"), LocalDate.parse("2006-10-20")));
+        assertEquals(List.of("5"), searchIndex.search("bale", 10));
+    }
+
+    @Test
+    void blankQueryReturnsNothing() {
+        //when
+        var result = searchIndex.search("  -  ", 10);
+
+        //then
+        assertTrue(result.isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+package com.reactivespring.stream;
+
+import com.reactivespring.config.SignalLogConfig;
+import com.reactivespring.config.TickStreamProperties;
+import com.reactivespring.controller.FluxAndMonoController;
+import com.reactivespring.util.SignalLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connects 10k subscribers to /stream of one controller and checks every one of them gets every tick on time from
+ * the single shared timer, in real time. Tagged load, it is left out of the test task and run with loadTest.
+ */
+@Slf4j
+@Tag("load")
+class TickStreamLoadTest {
+
+    static final int SUBSCRIBERS = 10_000;
+    static final int TICKS = 5;
+    static final Duration PERIOD = Duration.ofMillis(200);
+
+    @Test
+    void tenThousandSubscribersShareOneTimer() throws InterruptedException {
+        //given
+        var properties = new TickStreamProperties();
+        properties.setPeriod(PERIOD);
+        properties.setGracePeriod(Duration.ZERO);
+        var signalLogger = SignalLogger.of(SignalLogConfig.CATEGORY);
+        var controller = new FluxAndMonoController(new TickStream(properties, signalLogger), signalLogger);
+        var completed = new CountDownLatch(SUBSCRIBERS);
+        var receivedTicks = new AtomicLong();
+        var firstTicks = ConcurrentHashMap.<Long>newKeySet();
+        var subscriptions = new ArrayList<Disposable>(SUBSCRIBERS);
+
+        //when - everybody joins within the first period, so they all start at the same tick
+        var start = System.nanoTime();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscriptions.add(firstTicks(controller.stream(), firstTicks)
+                    .take(TICKS)
+                    .doOnNext(tick -> receivedTicks.incrementAndGet())
+                    .doOnComplete(completed::countDown)
+                    .subscribe());
+        }
+        var subscribed = Duration.ofNanos(System.nanoTime() - start);
+        var done = completed.await(PERIOD.multipliedBy(TICKS + 10).toMillis(), TimeUnit.MILLISECONDS);
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        subscriptions.forEach(Disposable::dispose);
+
+        //then
+        log.info("{} subscribers subscribed in {} ms, {} ticks delivered in {} ms", SUBSCRIBERS,
+                subscribed.toMillis(), receivedTicks.get(), elapsed.toMillis());
+        assertTrue(done, "only " + (SUBSCRIBERS - completed.getCount()) + " subscribers completed");
+        assertEquals((long) SUBSCRIBERS * TICKS, receivedTicks.get());
+        assertTrue(firstTicks.size() <= 2, "subscribers started at ticks " + firstTicks);
+        assertTrue(elapsed.compareTo(PERIOD.multipliedBy(TICKS + 3)) < 0,
+                "ticks fell behind the period : " + elapsed.toMillis() + " ms");
+    }
+
+    private static Flux<Long> firstTicks(Flux<Long> ticks, Set<Long> firstTicks) {
+        return ticks.switchOnFirst((first, all) -> {
+            if (first.hasValue()) {
+                firstTicks.add(first.get());
+            }
+            return all;
+        });
+    }
+}
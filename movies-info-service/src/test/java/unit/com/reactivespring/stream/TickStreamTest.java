@@ -0,0 +1,157 @@
+package com.reactivespring.stream;
+
+import com.reactivespring.config.SignalLogConfig;
+import com.reactivespring.config.TickStreamProperties;
+import com.reactivespring.controller.FluxAndMonoController;
+import org.junit.jupiter.api.AfterEach;
+import com.reactivespring.util.SignalLogger;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+
+class TickStreamTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void subscribersShareOneTimer() {
+        //given
+        var tickStream = tickStream(TickStreamProperties.OverflowStrategy.DROP_OLDEST, Duration.ZERO);
+
+        //when
+        StepVerifier.create(tickStream.subscribe().take(4))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(2)))
+                .expectNext(0L, 1L)
+                //then - the late subscriber starts at the current tick instead of 0
+                .then(() -> StepVerifier.create(tickStream.subscribe().take(2))
+                        .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(2)))
+                        .expectNext(2L, 3L)
+                        .verifyComplete())
+                .expectNext(2L, 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void tenThousandSubscribersShareOneTimer() {
+        //given
+        var subscribers = 10_000;
+        var properties = new TickStreamProperties();
+        properties.setGracePeriod(Duration.ZERO);
+        var signalLogger = SignalLogger.of(SignalLogConfig.CATEGORY);
+
+        //when - half of the subscribers of /stream join at the start, the other half after two ticks
+        StepVerifier.withVirtualTime(() -> {
+                    var controller = new FluxAndMonoController(new TickStream(properties, signalLogger), signalLogger);
+                    var ticksOfEach = Flux.range(0, subscribers / 2)
+                            .flatMap(i -> controller.stream().take(5).collectList(), subscribers / 2);
+                    return Flux.merge(ticksOfEach, Mono.delay(Duration.ofMillis(2500)).thenMany(ticksOfEach))
+                            .distinct();
+                })
+                .thenAwait(Duration.ofSeconds(7))
+                //then - every subscriber got every tick, the late ones from the running timer
+                .expectNext(List.of(0L, 1L, 2L, 3L, 4L))
+                .expectNext(List.of(2L, 3L, 4L, 5L, 6L))
+                .verifyComplete();
+    }
+
+    @Test
+    void timerRestartsAfterTheLastSubscriberLeft() {
+        //given
+        var tickStream = tickStream(TickStreamProperties.OverflowStrategy.DROP_OLDEST, Duration.ZERO);
+        StepVerifier.create(tickStream.subscribe().take(3))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(3)))
+                .expectNext(0L, 1L, 2L)
+                .verifyComplete();
+
+        //when
+        StepVerifier.create(tickStream.subscribe().take(1))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                //then
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void timerKeepsRunningDuringTheGracePeriod() {
+        //given
+        var tickStream = tickStream(TickStreamProperties.OverflowStrategy.DROP_OLDEST, Duration.ofSeconds(5));
+        StepVerifier.create(tickStream.subscribe().take(2))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(2)))
+                .expectNext(0L, 1L)
+                .verifyComplete();
+
+        //when
+        StepVerifier.create(tickStream.subscribe().take(1))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                //then
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void slowSubscriberDoesNotStallOthers() {
+        //given
+        var tickStream = tickStream(TickStreamProperties.OverflowStrategy.DROP_OLDEST, Duration.ZERO);
+
+        //when - the slow subscriber asks for nothing while 5 ticks are emitted
+        StepVerifier.create(tickStream.subscribe(), 0)
+                .then(() -> StepVerifier.create(tickStream.subscribe().take(5))
+                        .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(5)))
+                        .expectNextCount(5)
+                        .verifyComplete())
+                //then - only the latest ticks fit in its buffer
+                .thenRequest(2)
+                .expectNext(3L, 4L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void dropLatest() {
+        //given
+        var tickStream = tickStream(TickStreamProperties.OverflowStrategy.DROP_LATEST, Duration.ZERO);
+
+        //when
+        StepVerifier.create(tickStream.subscribe(), 0)
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(3)))
+                .thenRequest(3)
+                //then
+                .expectNext(0L, 1L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void disconnectSlowSubscriber() {
+        //given
+        var tickStream = tickStream(TickStreamProperties.OverflowStrategy.DISCONNECT, Duration.ZERO);
+
+        //when
+        StepVerifier.create(tickStream.subscribe(), 0)
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(3)))
+                .thenRequest(3)
+                //then
+                .expectNext(0L, 1L)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify();
+    }
+
+    private TickStream tickStream(TickStreamProperties.OverflowStrategy overflowStrategy, Duration gracePeriod) {
+        var properties = new TickStreamProperties();
+        properties.setBufferSize(2);
+        properties.setOverflowStrategy(overflowStrategy);
+        properties.setGracePeriod(gracePeriod);
+        return new TickStream(properties, SignalLogger.of(SignalLogConfig.CATEGORY), scheduler);
+    }
+}
@@ -0,0 +1,152 @@
+package com.reactivespring.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import com.reactivespring.config.ReviewBulkProperties;
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewBulkResult;
+import com.reactivespring.stats.ReviewStatsAggregator;
+import com.reactivespring.stream.ReviewStream;
+import com.reactivespring.validation.ReviewValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Validates the lines of a bulk import as they arrive and writes the valid reviews with one unordered insertMany per
+ * batch. A review that fails, a duplicate id for instance, does not stop the others, the write errors of the
+ * insertMany name the failed ones by their position in the batch and every other review is stored.
+ * At most maxInFlightBatches batches are written at the same time, the next lines are only read from the request
+ * once a batch is done, so the body is never held in memory as a whole.
+ * A line that cannot be parsed or validated is reported and skipped, it does not fail the import.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewBulkIngester {
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ReviewValidator reviewValidator;
+    private final ReviewStream reviewStream;
+    private final ReviewStatsAggregator reviewStatsAggregator;
+    private final ReviewBulkProperties properties;
+
+    public Flux<ReviewBulkResult> ingest(Flux<String> lines) {
+        return lines.filter(line -> !line.isBlank())
+                .index((index, line) -> parse(index, line))
+                .buffer(properties.getBatchSize())
+                .flatMapSequential(this::insertBatch, properties.getMaxInFlightBatches());
+    }
+
+    private BulkLine parse(long index, String line) {
+        try {
+            var review = objectMapper.readValue(line, Review.class);
+            if (review == null) {
+                return BulkLine.invalid(index, "review : must not be null");
+            }
+            return reviewValidator.violations(review)
+                    .map(errorMessage -> BulkLine.invalid(index, errorMessage))
+                    .orElseGet(() -> BulkLine.valid(index, review));
+        } catch (JsonProcessingException ex) {
+            return BulkLine.invalid(index, "review : malformed JSON, " + ex.getOriginalMessage());
+        }
+    }
+
+    private Flux<ReviewBulkResult> insertBatch(List<BulkLine> batch) {
+        var validLines = batch.stream()
+                .filter(bulkLine -> bulkLine.review != null)
+                .collect(Collectors.toList());
+        if (validLines.isEmpty()) {
+            return Flux.fromIterable(batch).map(BulkLine::result);
+        }
+        var documents = validLines.stream()
+                .map(bulkLine -> toDocument(bulkLine.review))
+                .collect(Collectors.toList());
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Review.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents, UNORDERED)))
+                .doOnNext(result -> validLines.forEach(BulkLine::created))
+                .onErrorResume(MongoBulkWriteException.class, ex -> {
+                    validLines.forEach(BulkLine::created);
+                    ex.getWriteErrors().forEach(error -> validLines.get(error.getIndex()).failed(error.getMessage()));
+                    return Mono.empty();
+                })
+                .onErrorResume(ex -> {
+                    log.warn("insertMany of {} reviews failed, the stored ones are left to the stats rebuild : {}",
+                            documents.size(), ex.getMessage());
+                    validLines.forEach(bulkLine -> bulkLine.failed(ex.getMessage()));
+                    return Mono.empty();
+                })
+                .then(Mono.defer(() -> {
+                    var created = validLines.stream()
+                            .filter(bulkLine -> bulkLine.result.getStatus() == ReviewBulkResult.Status.CREATED)
+                            .map(bulkLine -> bulkLine.review)
+                            .collect(Collectors.toList());
+                    created.forEach(reviewStream::publish);
+                    return reviewStatsAggregator.reviewsAdded(created);
+                }))
+                .thenMany(Flux.fromIterable(batch))
+                .map(BulkLine::result);
+    }
+
+    private Document toDocument(Review review) {
+        var document = new Document();
+        reactiveMongoTemplate.getConverter().write(review, document);
+        return document;
+    }
+
+    private static class BulkLine {
+
+        private final long index;
+        private final Review review;
+        private ReviewBulkResult result;
+
+        private BulkLine(long index, Review review, ReviewBulkResult result) {
+            this.index = index;
+            this.review = review;
+            this.result = result;
+        }
+
+        /**
+         * The id is set before the insert so the result can name it, the version starts at 0 like the one set by
+         * {@link ReactiveMongoTemplate#insert(Object)}.
+         */
+        static BulkLine valid(long index, Review review) {
+            if (review.getReviewId() == null) {
+                review.setReviewId(new ObjectId().toHexString());
+            }
+            if (review.getVersion() == null) {
+                review.setVersion(0L);
+            }
+            return new BulkLine(index, review, null);
+        }
+
+        static BulkLine invalid(long index, String error) {
+            return new BulkLine(index, null, ReviewBulkResult.invalid(index, error));
+        }
+
+        void created() {
+            result = ReviewBulkResult.created(index, review.getReviewId());
+        }
+
+        void failed(String error) {
+            result = ReviewBulkResult.failed(index, review.getReviewId(), error);
+        }
+
+        ReviewBulkResult result() {
+            return result;
+        }
+    }
+}
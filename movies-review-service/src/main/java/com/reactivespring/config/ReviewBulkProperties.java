@@ -0,0 +1,18 @@
+package com.reactivespring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "reviews.bulk")
+public class ReviewBulkProperties {
+
+    /**
+     * Reviews written by a single insertMany.
+     */
+    private int batchSize = 500;
+    /**
+     * Batches written to Mongo at the same time, together with batchSize this bounds the reviews held in memory.
+     */
+    private int maxInFlightBatches = 4;
+}
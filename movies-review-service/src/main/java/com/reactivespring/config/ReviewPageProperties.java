@@ -0,0 +1,15 @@
+package com.reactivespring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "reviews.page")
+public class ReviewPageProperties {
+
+    private int defaultSize = 100;
+    /**
+     * Larger limits are lowered to this size.
+     */
+    private int maxSize = 1000;
+}
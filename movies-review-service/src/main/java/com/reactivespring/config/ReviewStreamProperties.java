@@ -0,0 +1,30 @@
+package com.reactivespring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "reviews.stream")
+public class ReviewStreamProperties {
+
+    /**
+     * Reviews kept for a subscriber that reads slower than reviews are posted.
+     */
+    private int bufferSize = 256;
+    private OverflowStrategy overflowStrategy = OverflowStrategy.DROP_OLDEST;
+    /**
+     * Interval of the SSE comments sent to keep idle connections open through proxies.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    public enum OverflowStrategy {
+        DROP_OLDEST,
+        DROP_LATEST,
+        /**
+         * Ends the stream of the slow subscriber, the client is expected to reconnect.
+         */
+        DISCONNECT
+    }
+}
@@ -0,0 +1,38 @@
+package com.reactivespring.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one line of a bulk import, index is the position of the line among the non-blank lines of the body,
+ * starting at 0.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewBulkResult {
+
+    private long index;
+    private String reviewId;
+    private Status status;
+    private String error;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    public static ReviewBulkResult created(long index, String reviewId) {
+        return new ReviewBulkResult(index, reviewId, Status.CREATED, null);
+    }
+
+    public static ReviewBulkResult invalid(long index, String error) {
+        return new ReviewBulkResult(index, null, Status.INVALID, error);
+    }
+
+    public static ReviewBulkResult failed(long index, String reviewId, String error) {
+        return new ReviewBulkResult(index, reviewId, Status.FAILED, error);
+    }
+}
@@ -0,0 +1,42 @@
+package com.reactivespring.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rating summary of one movie, kept up to date on every change of its reviews.
+ * count includes the reviews without a rating, sum, min, max and the histogram only cover the rated ones.
+ * The histogram counts the ratings by their integer part.
+ * revision is replaced by a new ObjectId on every change of the reviews of the movie, a value is never handed out
+ * twice, not even after the movie lost all its reviews and got new ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class ReviewStats {
+
+    @Id
+    private Long movieInfoId;
+    private long count;
+    private long ratingCount;
+    private double sum;
+    private Double min;
+    private Double max;
+    private Map<String, Long> histogram = new HashMap<>();
+    private String revision;
+
+    public static ReviewStats empty(Long movieInfoId) {
+        return new ReviewStats(movieInfoId, 0, 0, 0, null, null, new HashMap<>(), null);
+    }
+
+    public Double getAverage() {
+        return ratingCount == 0 ? null : sum / ratingCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.reactivespring.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A review together with the {@link ReviewStats#getRevision() revision} of its movie, read in the same query.
+ * revision is null when the movie has no stats document.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewWithRevision {
+
+    private Review review;
+    private String revision;
+}
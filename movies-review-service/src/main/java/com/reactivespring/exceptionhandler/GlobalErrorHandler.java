@@ -0,0 +1,46 @@
+package com.reactivespring.exceptionhandler;
+
+import com.reactivespring.exception.ReviewConflictException;
+import com.reactivespring.exception.ReviewDataException;
+import com.reactivespring.exception.ReviewNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Functional routes are not covered by @ControllerAdvice, the exceptions of the handlers are mapped here.
+ * Ordered before the default handler of Spring Boot.
+ */
+@Slf4j
+@Component
+@Order(-2)
+public class GlobalErrorHandler implements ErrorWebExceptionHandler {
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        log.error("Exception message is {} ", ex.getMessage(), ex);
+        var response = exchange.getResponse();
+        if (ex instanceof ReviewDataException) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+        } else if (ex instanceof ReviewNotFoundException) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+        } else if (ex instanceof ReviewConflictException) {
+            response.setStatusCode(HttpStatus.CONFLICT);
+        } else if (ex instanceof ResponseStatusException) {
+            response.setStatusCode(((ResponseStatusException) ex).getStatus());
+        } else {
+            response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        DataBuffer errorMessage = response.bufferFactory()
+                .wrap(String.valueOf(ex.getMessage()).getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(errorMessage));
+    }
+}
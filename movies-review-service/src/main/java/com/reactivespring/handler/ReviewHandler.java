@@ -0,0 +1,236 @@
+package com.reactivespring.handler;
+
+import com.reactivespring.bulk.ReviewBulkIngester;
+import com.reactivespring.config.ReviewStreamProperties;
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewBulkResult;
+import com.reactivespring.domain.ReviewStats;
+import com.reactivespring.domain.ReviewWithRevision;
+import com.reactivespring.exception.ReviewConflictException;
+import com.reactivespring.exception.ReviewDataException;
+import com.reactivespring.exception.ReviewNotFoundException;
+import com.reactivespring.paging.ReviewPager;
+import com.reactivespring.repository.ReviewReactiveRepository;
+import com.reactivespring.stats.ReviewStatsAggregator;
+import com.reactivespring.stream.ReviewStream;
+import com.reactivespring.util.ETags;
+import com.reactivespring.validation.ReviewValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewHandler {
+
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
+    private final ReviewReactiveRepository reviewReactiveRepository;
+    private final ReviewValidator reviewValidator;
+    private final ReviewStream reviewStream;
+    private final ReviewStreamProperties reviewStreamProperties;
+    private final ReviewBulkIngester reviewBulkIngester;
+    private final ReviewStatsAggregator reviewStatsAggregator;
+    private final ReviewPager reviewPager;
+
+    /**
+     * Only creates reviews, a body with a version answers 400 and one with the id of a stored review answers 409.
+     * The review is inserted, never saved, so the stats only count it once it is known to be new.
+     */
+    public Mono<ServerResponse> addReview(ServerRequest request) {
+        return request.bodyToMono(Review.class)
+                .doOnNext(reviewValidator::validateNew)
+                .flatMap(review -> reviewReactiveRepository.insert(review)
+                        .onErrorMap(DuplicateKeyException.class, ex -> new ReviewConflictException(
+                                "Review already exists for the given Review id " + review.getReviewId(), ex)))
+                .flatMap(savedReview -> reviewStatsAggregator.reviewAdded(savedReview).thenReturn(savedReview))
+                .doOnNext(reviewStream::publish)
+                .flatMap(savedReview -> ServerResponse.status(HttpStatus.CREATED).bodyValue(savedReview));
+    }
+
+    /**
+     * Imports a stream of reviews, one JSON document per line, and answers with one {@link ReviewBulkResult} per
+     * line in the same order. The body is read as fast as the batches are written to Mongo, see
+     * {@link ReviewBulkIngester}.
+     */
+    public Mono<ServerResponse> addReviewsInBulk(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reviewBulkIngester.ingest(request.bodyToFlux(String.class)), ReviewBulkResult.class);
+    }
+
+    /**
+     * Server-Sent Events of the reviews posted from now on, interleaved with heartbeat comments.
+     * The first heartbeat is sent right away so the response is committed without waiting for a review.
+     * The heartbeats are dropped while the client is not reading, they are only there for idle connections.
+     */
+    public Mono<ServerResponse> getReviewsStream(ServerRequest request) {
+        var reviews = reviewStream.subscribe()
+                .map(review -> ServerSentEvent.builder(review)
+                        .id(review.getReviewId())
+                        .event("review")
+                        .build());
+        var heartbeats = Flux.interval(Duration.ZERO, reviewStreamProperties.getHeartbeatInterval())
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<Review>builder().comment("heartbeat").build());
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.merge(reviews, heartbeats), new ParameterizedTypeReference<ServerSentEvent<Review>>() {
+                });
+    }
+
+    /**
+     * The reviews of a movie are written to the response as they come out of the cursor, nothing is collected in
+     * memory. Asking for a limit or a pageToken, or leaving out the movieInfoId, answers a single page instead, the
+     * token of the next page is passed in the {@value #NEXT_PAGE_TOKEN_HEADER} header.
+     * Both carry an ETag, a matching If-None-Match answers 304. The tag of a page is made of its content. The tag of
+     * the reviews of a movie is made of the revision of its stats, read in the same query as the reviews, see
+     * {@link ReviewReactiveRepository#findWithRevisionByMovieInfoId(Long)}. A request with an If-None-Match first
+     * reads the revision alone, so an unchanged movie is answered without reading a single review.
+     */
+    public Mono<ServerResponse> getReviews(ServerRequest request) {
+        var movieInfoId = request.queryParam("movieInfoId");
+        var limit = request.queryParam("limit");
+        var pageToken = request.queryParam("pageToken");
+        if (movieInfoId.isPresent() && limit.isEmpty() && pageToken.isEmpty()) {
+            return Mono.defer(() -> {
+                var id = parseMovieInfoId(movieInfoId.get());
+                if (request.headers().header(HttpHeaders.IF_NONE_MATCH).isEmpty()) {
+                    return getReviewsOfMovie(id);
+                }
+                return reviewStatsAggregator.getRevision(id)
+                        .flatMap(revision -> request.checkNotModified(movieETag(id, revision)))
+                        .switchIfEmpty(Mono.defer(() -> getReviewsOfMovie(id)));
+            });
+        }
+        return Mono.defer(() -> reviewPager.findPage(
+                        movieInfoId.map(ReviewHandler::parseMovieInfoId).orElse(null),
+                        limit.map(ReviewHandler::parseLimit).orElse(null),
+                        pageToken.orElse(null)))
+                .flatMap(page -> {
+                    var eTagBuilder = ETags.builder().add(page.getNextPageToken());
+                    page.getReviews().forEach(review -> addContent(eTagBuilder, review));
+                    var eTag = eTagBuilder.build();
+                    return request.checkNotModified(eTag)
+                            .switchIfEmpty(Mono.defer(() -> {
+                                var response = ServerResponse.ok().eTag(eTag);
+                                if (page.getNextPageToken() != null) {
+                                    response.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+                                }
+                                return response.bodyValue(page.getReviews());
+                            }));
+                });
+    }
+
+    /**
+     * Served from the stats document of the movie, a movie without reviews has a count of 0.
+     */
+    public Mono<ServerResponse> getReviewStats(ServerRequest request) {
+        var stats = Mono.defer(() -> request.queryParam("movieInfoId")
+                .map(movieInfoId -> reviewStatsAggregator.getStats(parseMovieInfoId(movieInfoId)))
+                .orElseGet(() -> Mono.error(new ReviewDataException("review.movieInfoId : must not be null"))));
+        return ServerResponse.ok().body(stats, ReviewStats.class);
+    }
+
+    /**
+     * One round trip to Mongo, see {@link ReviewReactiveRepository#updateReview(String, Review)}. Only the comment
+     * and the rating are validated, the body does not need to repeat the movieInfoId. A review that does not exist
+     * or no longer has the passed in version answers 404.
+     */
+    public Mono<ServerResponse> updateReview(ServerRequest request) {
+        var reviewId = request.pathVariable("id");
+        return request.bodyToMono(Review.class)
+                .doOnNext(reviewValidator::validateChanges)
+                .flatMap(changes -> reviewReactiveRepository.updateReview(reviewId, changes)
+                        .switchIfEmpty(Mono.error(() -> changes.getVersion() == null
+                                ? reviewNotFound(reviewId)
+                                : new ReviewNotFoundException("Review not found for the given Review id " + reviewId
+                                + " and version " + changes.getVersion())))
+                        .flatMap(previous -> {
+                            var updated = applyChanges(previous, changes);
+                            return reviewStatsAggregator.reviewUpdated(previous, updated).thenReturn(updated);
+                        }))
+                .flatMap(updatedReview -> ServerResponse.ok().bodyValue(updatedReview));
+    }
+
+    /**
+     * One round trip to Mongo, see {@link ReviewReactiveRepository#deleteReview(String)}. Only the request that
+     * removed the review takes it out of the stats, a concurrent delete of the same review answers 404.
+     */
+    public Mono<ServerResponse> deleteReview(ServerRequest request) {
+        var reviewId = request.pathVariable("id");
+        return reviewReactiveRepository.deleteReview(reviewId)
+                .switchIfEmpty(Mono.error(() -> reviewNotFound(reviewId)))
+                .flatMap(reviewStatsAggregator::reviewDeleted)
+                .then(ServerResponse.noContent().build());
+    }
+
+    private static Review applyChanges(Review previous, Review changes) {
+        return new Review(previous.getReviewId(), previous.getMovieInfoId(),
+                changes.getComment() != null ? changes.getComment() : previous.getComment(),
+                changes.getRating() != null ? changes.getRating() : previous.getRating(),
+                previous.getVersion() == null ? 1L : previous.getVersion() + 1);
+    }
+
+    /**
+     * The ETag is taken from the revision joined to the first review, the body is the rest of the same cursor.
+     * Writes landing while the cursor is read only make the body newer than the tag, which only costs the client
+     * one more 200. A movie without stats gets no ETag.
+     */
+    private Mono<ServerResponse> getReviewsOfMovie(Long movieInfoId) {
+        return reviewReactiveRepository.findWithRevisionByMovieInfoId(movieInfoId)
+                .switchOnFirst((first, reviews) -> {
+                    if (first.isOnError()) {
+                        return Mono.<ServerResponse>error(first.getThrowable());
+                    }
+                    var response = ServerResponse.ok();
+                    if (first.hasValue() && first.get().getRevision() != null) {
+                        response.eTag(movieETag(movieInfoId, first.get().getRevision()));
+                    }
+                    return response.body(reviews.map(ReviewWithRevision::getReview), Review.class);
+                }, false)
+                .single();
+    }
+
+    private static String movieETag(Long movieInfoId, String revision) {
+        return ETags.of(movieInfoId, revision);
+    }
+
+    private static ETags.Builder addContent(ETags.Builder eTag, Review review) {
+        return eTag.add(review.getReviewId()).add(review.getVersion()).add(review.getMovieInfoId())
+                .add(review.getComment()).add(review.getRating());
+    }
+
+    private static ReviewNotFoundException reviewNotFound(String reviewId) {
+        return new ReviewNotFoundException("Review not found for the given Review id " + reviewId);
+    }
+
+    private static Integer parseLimit(String limit) {
+        try {
+            return Integer.valueOf(limit);
+        } catch (NumberFormatException ex) {
+            throw new ReviewDataException("review.limit : must be a number");
+        }
+    }
+
+    private static Long parseMovieInfoId(String movieInfoId) {
+        try {
+            return Long.valueOf(movieInfoId);
+        } catch (NumberFormatException ex) {
+            throw new ReviewDataException("review.movieInfoId : must be a number");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.reactivespring.paging;
+
+import com.reactivespring.exception.ReviewDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token of a page of reviews: the last reviewId of the page and the movieInfoId the pages are
+ * filtered on, so a token cannot be replayed against another query.
+ */
+public class PageToken {
+
+    private static final String SEPARATOR = "\n";
+
+    private final Long movieInfoId;
+    private final String lastReviewId;
+
+    public PageToken(Long movieInfoId, String lastReviewId) {
+        this.movieInfoId = movieInfoId;
+        this.lastReviewId = lastReviewId;
+    }
+
+    public String getLastReviewId() {
+        return lastReviewId;
+    }
+
+    public String encode() {
+        var token = (movieInfoId == null ? "" : movieInfoId.toString()) + SEPARATOR + lastReviewId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageToken decode(String token, Long movieInfoId) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new ReviewDataException("review.pageToken : is not valid");
+        }
+        var separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new ReviewDataException("review.pageToken : is not valid");
+        }
+        if (!decoded.substring(0, separator).equals(movieInfoId == null ? "" : movieInfoId.toString())) {
+            throw new ReviewDataException("review.pageToken : does not belong to this query");
+        }
+        return new PageToken(movieInfoId, decoded.substring(separator + 1));
+    }
+}
@@ -0,0 +1,18 @@
+package com.reactivespring.paging;
+
+import com.reactivespring.domain.Review;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReviewPage {
+
+    private List<Review> reviews;
+    /**
+     * Null on the last page.
+     */
+    private String nextPageToken;
+}
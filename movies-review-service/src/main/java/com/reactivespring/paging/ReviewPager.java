@@ -0,0 +1,81 @@
+package com.reactivespring.paging;
+
+import com.reactivespring.config.ReviewPageProperties;
+import com.reactivespring.domain.Review;
+import com.reactivespring.exception.ReviewDataException;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Keyset pagination of the reviews: a page starts right after the last reviewId of the previous page instead of
+ * skipping the reviews in front of it, so every page is a range scan of the same cost.
+ * The unfiltered pages walk the _id index, the pages of a movie the {movieInfoId, _id} index.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewPager {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReviewPageProperties properties;
+
+    /**
+     * @param movieInfoId null for all the reviews
+     * @param limit       null for the default page size, capped to the max page size
+     * @param pageToken   null for the first page
+     */
+    public Mono<ReviewPage> findPage(Long movieInfoId, Integer limit, String pageToken) {
+        return Mono.defer(() -> {
+            var pageSize = pageSize(limit);
+            var criteria = movieInfoId == null ? new Criteria() : where("movieInfoId").is(movieInfoId);
+            if (pageToken != null) {
+                criteria = criteria.andOperator(after(PageToken.decode(pageToken, movieInfoId).getLastReviewId()));
+            }
+            var query = Query.query(criteria)
+                    .with(Sort.by("_id"))
+                    .limit(pageSize + 1);
+            return reactiveMongoTemplate.find(query, Review.class)
+                    .collectList()
+                    .map(reviews -> {
+                        if (reviews.size() <= pageSize) {
+                            return new ReviewPage(reviews, null);
+                        }
+                        var page = reviews.subList(0, pageSize);
+                        var lastReviewId = page.get(pageSize - 1).getReviewId();
+                        return new ReviewPage(page, new PageToken(movieInfoId, lastReviewId).encode());
+                    });
+        });
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return properties.getDefaultSize();
+        }
+        if (limit < 1) {
+            throw new ReviewDataException("review.limit : must be positive");
+        }
+        return Math.min(limit, properties.getMaxSize());
+    }
+
+    /**
+     * Ids generated by Mongo are ObjectIds, ids passed in by clients can be plain strings. Mongo sorts all the
+     * strings before all the ObjectIds and $gt only compares values of the same type, so the ObjectIds come after
+     * any string id.
+     */
+    private static Criteria after(String lastReviewId) {
+        if (ObjectId.isValid(lastReviewId)) {
+            return where("_id").gt(new ObjectId(lastReviewId));
+        }
+        return new Criteria().orOperator(
+                where("_id").gt(lastReviewId),
+                where("_id").type(JsonSchemaObject.Type.objectIdType()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.reactivespring.repository;
+
+import com.reactivespring.domain.Review;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReviewReactiveRepository extends ReactiveMongoRepository<Review, String>,
+        ReviewReactiveRepositoryCustom {
+
+    /**
+     * Backed by a cursor, the next batch is only fetched once the subscriber has asked for more reviews.
+     */
+    @Meta(cursorBatchSize = 100)
+    Flux<Review> findByMovieInfoId(Long movieInfoId);
+
+    Mono<Boolean> existsByMovieInfoId(Long movieInfoId);
+}
@@ -0,0 +1,31 @@
+package com.reactivespring.repository;
+
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewWithRevision;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReviewReactiveRepositoryCustom {
+
+    /**
+     * Sets the comment and the rating passed in changes, leaving out the null ones, and increments the version in a
+     * single atomic findAndModify. When changes carries a version only that version of the review is updated.
+     *
+     * @return the review as it was before the update, empty when no review matched
+     */
+    Mono<Review> updateReview(String reviewId, Review changes);
+
+    /**
+     * Removes the review in a single atomic findAndRemove, of concurrent deletes of the same review only one gets it.
+     *
+     * @return the removed review, empty when no review matched
+     */
+    Mono<Review> deleteReview(String reviewId);
+
+    /**
+     * The reviews of a movie in reviewId order through the movieInfoId_reviewId index, each joined with the revision
+     * of the stats of the movie by a $lookup on the _id index of the stats. Backed by a cursor like
+     * {@link ReviewReactiveRepository#findByMovieInfoId(Long)}.
+     */
+    Flux<ReviewWithRevision> findWithRevisionByMovieInfoId(Long movieInfoId);
+}
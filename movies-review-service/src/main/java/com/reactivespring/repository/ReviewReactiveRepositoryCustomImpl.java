@@ -0,0 +1,64 @@
+package com.reactivespring.repository;
+
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewStats;
+import com.reactivespring.domain.ReviewWithRevision;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+public class ReviewReactiveRepositoryCustomImpl implements ReviewReactiveRepositoryCustom {
+
+    private static final int CURSOR_BATCH_SIZE = 100;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Review> updateReview(String reviewId, Review changes) {
+        var criteria = where("_id").is(reviewId);
+        if (changes.getVersion() != null) {
+            criteria = criteria.and("version").is(changes.getVersion());
+        }
+        var update = new Update().inc("version", 1);
+        if (changes.getComment() != null) {
+            update.set("comment", changes.getComment());
+        }
+        if (changes.getRating() != null) {
+            update.set("rating", changes.getRating());
+        }
+        return reactiveMongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(false), Review.class);
+    }
+
+    @Override
+    public Mono<Review> deleteReview(String reviewId) {
+        return reactiveMongoTemplate.findAndRemove(Query.query(where("_id").is(reviewId)), Review.class);
+    }
+
+    @Override
+    public Flux<ReviewWithRevision> findWithRevisionByMovieInfoId(Long movieInfoId) {
+        var aggregation = Aggregation.newAggregation(
+                        Aggregation.match(where("movieInfoId").is(movieInfoId)),
+                        Aggregation.sort(Sort.by("_id")),
+                        Aggregation.project().and(Aggregation.ROOT).as("review"),
+                        Aggregation.lookup(reactiveMongoTemplate.getCollectionName(ReviewStats.class),
+                                "review.movieInfoId", "_id", "stats"),
+                        Aggregation.project("review").andExclude("_id")
+                                .and(ArrayOperators.ArrayElemAt.arrayOf("stats.revision").elementAt(0))
+                                .as("revision"))
+                .withOptions(AggregationOptions.builder().cursorBatchSize(CURSOR_BATCH_SIZE).build());
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(Review.class),
+                ReviewWithRevision.class);
+    }
+}
@@ -0,0 +1,208 @@
+package com.reactivespring.stats;
+
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewStats;
+import com.reactivespring.repository.ReviewReactiveRepository;
+import com.reactivespring.repository.ReviewStatsReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Keeps one {@link ReviewStats} document per movie, so a rating summary is a single read however many reviews the
+ * movie has. Every change is one atomic upsert with $inc, $min and $max on that document, which also sets a new
+ * revision, see {@link ReviewStats}.
+ * The review and its stats are not written in one transaction, a failed stats update is logged and left to
+ * {@link #rebuild()}, which recomputes every document from the reviews. It still sets a new revision where it can,
+ * a conditional GET of the reviews must not be answered 304 for a change the stats missed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewStatsAggregator {
+
+    private static final int MAX_BOUNDS_ATTEMPTS = 3;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReviewReactiveRepository reviewReactiveRepository;
+    private final ReviewStatsReactiveRepository reviewStatsReactiveRepository;
+
+    public Mono<ReviewStats> getStats(Long movieInfoId) {
+        return reviewStatsReactiveRepository.findById(movieInfoId)
+                .defaultIfEmpty(ReviewStats.empty(movieInfoId));
+    }
+
+    /**
+     * Only the revision is read, empty when the movie has no stats document or it predates the revision.
+     */
+    public Mono<String> getRevision(Long movieInfoId) {
+        var query = byMovieInfoId(movieInfoId);
+        query.fields().include("revision");
+        return reactiveMongoTemplate.findOne(query, ReviewStats.class)
+                .filter(stats -> stats.getRevision() != null)
+                .map(ReviewStats::getRevision);
+    }
+
+    /**
+     * Counts a review that has just been inserted, a change of a stored review goes through
+     * {@link #reviewUpdated(Review, Review)}, counting it here would add its rating twice.
+     */
+    public Mono<Void> reviewAdded(Review review) {
+        return apply(new ReviewStatsDelta(review.getMovieInfoId()).add(review));
+    }
+
+    /**
+     * The reviews of a bulk import are grouped by movie, a batch costs one update per movie instead of one per review.
+     */
+    public Mono<Void> reviewsAdded(Collection<Review> reviews) {
+        var deltas = new LinkedHashMap<Long, ReviewStatsDelta>();
+        reviews.forEach(review -> deltas.computeIfAbsent(review.getMovieInfoId(), ReviewStatsDelta::new).add(review));
+        return Flux.fromIterable(deltas.values())
+                .concatMap(this::apply)
+                .then();
+    }
+
+    /**
+     * The ratings are only touched when the rating changed, a new comment still sets a new revision.
+     */
+    public Mono<Void> reviewUpdated(Review previous, Review updated) {
+        var delta = new ReviewStatsDelta(updated.getMovieInfoId());
+        if (!Objects.equals(previous.getRating(), updated.getRating())) {
+            delta.remove(previous).add(updated);
+        }
+        return apply(delta);
+    }
+
+    public Mono<Void> reviewDeleted(Review review) {
+        return apply(new ReviewStatsDelta(review.getMovieInfoId()).remove(review));
+    }
+
+    /**
+     * Recomputes the stats of every movie from its reviews, read in movieInfoId order through the movieInfoId index.
+     * Only the stats of one movie are held in memory at a time. Stats of movies without reviews are removed.
+     * Changes made to a movie while it is being recomputed can be overwritten, they are picked up by the next run.
+     */
+    @Scheduled(cron = "${reviews.stats.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild().subscribe(
+                rebuilt -> log.info("Rebuilt the review stats of {} movies", rebuilt),
+                ex -> log.error("Rebuilding the review stats failed", ex));
+    }
+
+    public Mono<Long> rebuild() {
+        var reviews = reactiveMongoTemplate.find(
+                new Query().with(Sort.by("movieInfoId", "_id")), Review.class);
+        return reviews.windowUntilChanged(Review::getMovieInfoId)
+                .concatMap(movieReviews -> movieReviews.switchOnFirst((first, all) -> first.hasValue()
+                        ? all.reduce(new ReviewStatsDelta(first.get().getMovieInfoId()), ReviewStatsDelta::add)
+                        : Mono.<ReviewStatsDelta>empty()))
+                .concatMap(delta -> reviewStatsReactiveRepository.save(toStats(delta)))
+                .count()
+                .flatMap(rebuilt -> removeStatsWithoutReviews().thenReturn(rebuilt));
+    }
+
+    private Mono<Void> removeStatsWithoutReviews() {
+        return reviewStatsReactiveRepository.findAll()
+                .concatMap(stats -> reviewReactiveRepository.existsByMovieInfoId(stats.getMovieInfoId())
+                        .filter(exists -> !exists)
+                        .flatMap(exists -> reviewStatsReactiveRepository.deleteById(stats.getMovieInfoId())))
+                .then();
+    }
+
+    private Mono<Void> apply(ReviewStatsDelta delta) {
+        var update = new Update()
+                .inc("count", delta.count)
+                .inc("ratingCount", delta.ratingCount)
+                .inc("sum", delta.sum)
+                .set("revision", newRevision());
+        delta.histogram.forEach((bucket, count) -> update.inc("histogram." + bucket, count));
+        if (delta.min != null) {
+            update.min("min", delta.min);
+        }
+        if (delta.max != null) {
+            update.max("max", delta.max);
+        }
+        return reactiveMongoTemplate.findAndModify(byMovieInfoId(delta.movieInfoId), update,
+                        FindAndModifyOptions.options().upsert(true).returnNew(true), ReviewStats.class)
+                .filter(stats -> delta.removedRatings.stream()
+                        .anyMatch(rating -> rating.equals(stats.getMin()) || rating.equals(stats.getMax())))
+                .flatMap(stats -> recomputeBounds(delta.movieInfoId, stats.getRevision(), 1))
+                .onErrorResume(ex -> {
+                    log.warn("Updating the review stats of movie {} failed : {}", delta.movieInfoId, ex.getMessage());
+                    return touchRevision(delta.movieInfoId);
+                })
+                .then();
+    }
+
+    /**
+     * A removed rating was the min or the max, the new bounds are read back from the reviews of the movie. They are
+     * only set while the stats still have the revision they were computed for, a $min or $max applied in between
+     * changes the revision and the bounds are computed again.
+     */
+    private Mono<Void> recomputeBounds(Long movieInfoId, String revision, int attempt) {
+        var aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("movieInfoId").is(movieInfoId).and("rating").ne(null)),
+                Aggregation.group("movieInfoId").min("rating").as("min").max("rating").as("max"));
+        return reactiveMongoTemplate.aggregate(aggregation, Review.class, Document.class)
+                .next()
+                .map(bounds -> new Update().set("min", bounds.get("min")).set("max", bounds.get("max")))
+                .defaultIfEmpty(new Update().unset("min").unset("max"))
+                .flatMap(update -> reactiveMongoTemplate.updateFirst(
+                        Query.query(where("_id").is(movieInfoId).and("revision").is(revision)),
+                        update.set("revision", newRevision()), ReviewStats.class))
+                .filter(result -> result.getMatchedCount() == 0)
+                .flatMap(result -> {
+                    if (attempt == MAX_BOUNDS_ATTEMPTS) {
+                        log.warn("The review stats of movie {} kept changing, their bounds are left to the rebuild",
+                                movieInfoId);
+                        return Mono.empty();
+                    }
+                    return getRevision(movieInfoId)
+                            .flatMap(current -> recomputeBounds(movieInfoId, current, attempt + 1));
+                });
+    }
+
+    /**
+     * Best effort after a failed update, if Mongo is down this fails as well and is only logged.
+     */
+    private Mono<Void> touchRevision(Long movieInfoId) {
+        return reactiveMongoTemplate.updateFirst(byMovieInfoId(movieInfoId),
+                        new Update().set("revision", newRevision()), ReviewStats.class)
+                .then()
+                .onErrorResume(ex -> {
+                    log.warn("Setting a new revision of the review stats of movie {} failed : {}", movieInfoId,
+                            ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static Query byMovieInfoId(Long movieInfoId) {
+        return Query.query(where("_id").is(movieInfoId));
+    }
+
+    private static ReviewStats toStats(ReviewStatsDelta delta) {
+        return new ReviewStats(delta.movieInfoId, delta.count, delta.ratingCount, delta.sum, delta.min, delta.max,
+                delta.histogram, newRevision());
+    }
+
+    private static String newRevision() {
+        return new ObjectId().toHexString();
+    }
+}
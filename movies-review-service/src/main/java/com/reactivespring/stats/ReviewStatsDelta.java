@@ -0,0 +1,58 @@
+package com.reactivespring.stats;
+
+import com.reactivespring.domain.Review;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change of the {@link com.reactivespring.domain.ReviewStats} of one movie, applied with a single atomic update.
+ * $min and $max cannot take a rating back, the removed ratings are kept so the caller can tell whether the bounds
+ * have to be recomputed.
+ */
+class ReviewStatsDelta {
+
+    final Long movieInfoId;
+    long count;
+    long ratingCount;
+    double sum;
+    Double min;
+    Double max;
+    final Map<String, Long> histogram = new HashMap<>();
+    final List<Double> removedRatings = new ArrayList<>();
+
+    ReviewStatsDelta(Long movieInfoId) {
+        this.movieInfoId = movieInfoId;
+    }
+
+    ReviewStatsDelta add(Review review) {
+        count++;
+        var rating = review.getRating();
+        if (rating != null) {
+            ratingCount++;
+            sum += rating;
+            min = min == null ? rating : Math.min(min, rating);
+            max = max == null ? rating : Math.max(max, rating);
+            histogram.merge(bucket(rating), 1L, Long::sum);
+        }
+        return this;
+    }
+
+    ReviewStatsDelta remove(Review review) {
+        count--;
+        var rating = review.getRating();
+        if (rating != null) {
+            ratingCount--;
+            sum -= rating;
+            histogram.merge(bucket(rating), -1L, Long::sum);
+            removedRatings.add(rating);
+        }
+        return this;
+    }
+
+    static String bucket(double rating) {
+        return String.valueOf((long) Math.floor(rating));
+    }
+}
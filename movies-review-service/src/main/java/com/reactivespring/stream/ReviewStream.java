@@ -0,0 +1,56 @@
+package com.reactivespring.stream;
+
+import com.reactivespring.config.ReviewStreamProperties;
+import com.reactivespring.domain.Review;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fans out the posted reviews to every subscriber of /v1/reviews/stream from a single hot source, no subscriber
+ * queries Mongo.
+ * Each subscriber reads through its own bounded buffer: a subscriber that falls behind only loses reviews from its
+ * own buffer, or is disconnected, while the others keep receiving them.
+ */
+@Slf4j
+@Component
+public class ReviewStream {
+
+    private final Sinks.Many<Review> sink = Sinks.many().multicast().directBestEffort();
+    private final ReviewStreamProperties properties;
+
+    public ReviewStream(ReviewStreamProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Reviews posted while nobody is subscribed are not kept.
+     * Concurrent posts race for the sink, the loser spins until the other emission is done.
+     */
+    public void publish(Review review) {
+        sink.emitNext(review, (signalType, emitResult) -> emitResult == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+    }
+
+    public Flux<Review> subscribe() {
+        var bufferSize = properties.getBufferSize();
+        switch (properties.getOverflowStrategy()) {
+            case DROP_LATEST:
+                return sink.asFlux().onBackpressureBuffer(bufferSize,
+                        review -> log.debug("Dropped review {} for a slow subscriber", review.getReviewId()),
+                        BufferOverflowStrategy.DROP_LATEST);
+            case DISCONNECT:
+                return sink.asFlux().onBackpressureBuffer(bufferSize)
+                        .doOnError(ex -> log.info("Disconnecting a slow subscriber : {}", ex.getMessage()));
+            default:
+                return sink.asFlux().onBackpressureBuffer(bufferSize,
+                        review -> log.debug("Dropped review {} for a slow subscriber", review.getReviewId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+        }
+    }
+
+    public int subscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+}
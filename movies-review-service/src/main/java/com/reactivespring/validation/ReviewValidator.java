@@ -0,0 +1,71 @@
+package com.reactivespring.validation;
+
+import com.reactivespring.domain.Review;
+import com.reactivespring.exception.ReviewDataException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewValidator {
+
+    private static final List<String> UPDATABLE_PROPERTIES = List.of("comment", "rating");
+
+    private final Validator validator;
+
+    /**
+     * @return the sorted messages of the constraint violations joined by a comma, empty when the review is valid
+     */
+    public Optional<String> violations(Review review) {
+        return toMessage(validator.validate(review));
+    }
+
+    public void validate(Review review) {
+        violations(review).ifPresent(errorMessage -> {
+            throw new ReviewDataException(errorMessage);
+        });
+    }
+
+    /**
+     * A new review starts at version 0, a version passed by the client would turn the save into an update.
+     */
+    public void validateNew(Review review) {
+        validate(review);
+        if (review.getVersion() != null) {
+            throw new ReviewDataException("review.version : must be null, use PUT to update a review");
+        }
+    }
+
+    /**
+     * An update only carries the fields it changes, the others are taken from the stored review and not validated.
+     */
+    public void validateChanges(Review changes) {
+        var constraintViolations = new HashSet<ConstraintViolation<Review>>();
+        UPDATABLE_PROPERTIES.forEach(property -> constraintViolations.addAll(
+                validator.validateProperty(changes, property)));
+        toMessage(constraintViolations).ifPresent(errorMessage -> {
+            throw new ReviewDataException(errorMessage);
+        });
+    }
+
+    private static Optional<String> toMessage(Set<ConstraintViolation<Review>> constraintViolations) {
+        if (constraintViolations.isEmpty()) {
+            return Optional.empty();
+        }
+        log.info("constraintViolations : {}", constraintViolations);
+        return Optional.of(constraintViolations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(",")));
+    }
+}
@@ -1,4 +1,288 @@
 package com.reactivespring.routes;
 
-public class ReviewsIntgTest {
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewBulkResult;
+import com.reactivespring.handler.ReviewHandler;
+import com.reactivespring.repository.ReviewReactiveRepository;
+import com.reactivespring.repository.ReviewStatsReactiveRepository;
+import com.reactivespring.stats.ReviewStatsAggregator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@TestPropertySource(properties = "spring.mongodb.embedded.version=3.5.5")
+class ReviewsIntgTest {
+
+    static final String REVIEWS_URL = "/v1/reviews";
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    ReviewReactiveRepository reviewReactiveRepository;
+
+    @Autowired
+    ReviewStatsReactiveRepository reviewStatsReactiveRepository;
+
+    @Autowired
+    ReviewStatsAggregator reviewStatsAggregator;
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        var reviewsList = List.of(
+                new Review(null, 1L, "Awesome Movie", 9.0),
+                new Review(null, 1L, "Awesome Movie1", 9.0),
+                new Review("abc", 2L, "Excellent Movie", 8.0));
+        reviewReactiveRepository.saveAll(reviewsList)
+                .blockLast();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewReactiveRepository.deleteAll().block();
+        reviewStatsReactiveRepository.deleteAll().block();
+    }
+
+    @Test
+    void addReview() {
+        //given
+        var review = new Review(null, 3L, "Awesome Movie", 9.0);
+
+        //when
+        webTestClient.post()
+                .uri(REVIEWS_URL)
+                .bodyValue(review)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Review.class)
+                .consumeWith(reviewResponse -> {
+                    var savedReview = reviewResponse.getResponseBody();
+                    //then
+                    assert savedReview != null;
+                    assert savedReview.getReviewId() != null;
+                });
+    }
+
+    @Test
+    void addReviewsInBulk() {
+        //given
+        var body = "{\"movieInfoId\":3,\"comment\":\"Awesome Movie\",\"rating\":9.0}\n"
+                + "{\"comment\":\"Awesome Movie\",\"rating\":9.0}\n"
+                + "{\"movieInfoId\":3,\"comment\":\"Excellent Movie\",\"rating\":8.0}\n";
+
+        //when
+        webTestClient.post()
+                .uri(REVIEWS_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ReviewBulkResult.class)
+                .consumeWith(results -> {
+                    var bulkResults = results.getResponseBody();
+                    //then
+                    assert bulkResults != null;
+                    assertEquals(List.of(ReviewBulkResult.Status.CREATED, ReviewBulkResult.Status.INVALID,
+                                    ReviewBulkResult.Status.CREATED),
+                            bulkResults.stream().map(ReviewBulkResult::getStatus).collect(Collectors.toList()));
+                });
+        StepVerifier.create(reviewReactiveRepository.findByMovieInfoId(3L))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void getReviewsByMovieInfoId() {
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL).queryParam("movieInfoId", 1L).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Review.class)
+                //then
+                .hasSize(2);
+    }
+
+    @Test
+    void getReviewsPageByPage() {
+        //given
+        var reviewIds = new ArrayList<String>();
+        String pageToken = null;
+
+        //when
+        do {
+            var nextPageToken = pageToken;
+            var page = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL)
+                            .queryParam("limit", 1)
+                            .queryParamIfPresent("pageToken", Optional.ofNullable(nextPageToken))
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(Review.class)
+                    .hasSize(1)
+                    .returnResult();
+            page.getResponseBody().forEach(review -> reviewIds.add(review.getReviewId()));
+            pageToken = page.getResponseHeaders().getFirst(ReviewHandler.NEXT_PAGE_TOKEN_HEADER);
+        } while (pageToken != null);
+
+        //then - the string id comes before the generated ObjectIds
+        assertEquals(3, reviewIds.size());
+        assertEquals("abc", reviewIds.get(0));
+        assertEquals(3, Set.copyOf(reviewIds).size());
+    }
+
+    @Test
+    void findByMovieInfoIdUsesTheIndex() {
+        //when
+        var indexNames = reactiveMongoTemplate.indexOps(Review.class).getIndexInfo()
+                .map(IndexInfo::getName)
+                .collectList()
+                .block();
+
+        //then
+        assert indexNames != null;
+        assertTrue(indexNames.contains("movieInfoId_reviewId"));
+    }
+
+    @Test
+    void findByMovieInfoIdStreamsOnDemand() {
+        //when
+        StepVerifier.create(reviewReactiveRepository.findByMovieInfoId(1L), 1)
+                .expectNextCount(1)
+                .thenRequest(1)
+                .expectNextCount(1)
+                //then
+                .verifyComplete();
+    }
+
+    @Test
+    void reviewStatsFollowAddAndDelete() {
+        //given
+        var added = webTestClient.post()
+                .uri(REVIEWS_URL)
+                .bodyValue(new Review(null, 5L, "Awesome Movie", 9.0))
+                .exchange()
+                .expectStatus().isCreated()
+                .returnResult(Review.class)
+                .getResponseBody()
+                .blockFirst();
+        webTestClient.post()
+                .uri(REVIEWS_URL)
+                .bodyValue(new Review(null, 5L, "Good Movie", 7.0))
+                .exchange()
+                .expectStatus().isCreated();
+
+        //when
+        assert added != null;
+        webTestClient.delete()
+                .uri(REVIEWS_URL + "/{id}", added.getReviewId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        //then
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL + "/stats").queryParam("movieInfoId", 5L).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.count").isEqualTo(1)
+                .jsonPath("$.average").isEqualTo(7.0)
+                .jsonPath("$.max").isEqualTo(7.0)
+                .jsonPath("$.histogram.9").isEqualTo(0);
+    }
+
+    @Test
+    void rebuildReviewStats() {
+        //when
+        StepVerifier.create(reviewStatsAggregator.rebuild())
+                .expectNext(2L)
+                .verifyComplete();
+
+        //then
+        StepVerifier.create(reviewStatsReactiveRepository.findById(1L))
+                .expectNextMatches(stats -> stats.getCount() == 2 && stats.getAverage() == 9.0)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateReview() {
+        //given
+        var reviewUpdate = new Review(null, 2L, "Not an Awesome Movie", 8.5);
+
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(reviewUpdate)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Review.class)
+                .consumeWith(reviewResponse -> {
+                    var updatedReview = reviewResponse.getResponseBody();
+                    //then
+                    assert updatedReview != null;
+                    assertEquals(8.5, updatedReview.getRating());
+                    assertEquals("Not an Awesome Movie", updatedReview.getComment());
+                });
+    }
+
+    @Test
+    void updateReviewOfVersion() {
+        //given
+        var stale = new Review(null, 2L, "Stale Update", 1.0, 5L);
+        var current = new Review(null, 2L, "Not an Awesome Movie", 8.5, 0L);
+
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(stale)
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(current)
+                .exchange()
+                .expectStatus().isOk();
+
+        //then
+        StepVerifier.create(reviewReactiveRepository.findById("abc"))
+                .expectNextMatches(review -> review.getVersion() == 1L && review.getRating() == 8.5)
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteReview() {
+        //when
+        webTestClient.delete()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        //then
+        StepVerifier.create(reviewReactiveRepository.findById("abc"))
+                .verifyComplete();
+    }
 }
@@ -0,0 +1,227 @@
+package com.reactivespring.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.reactivespring.config.ReviewBulkProperties;
+import com.reactivespring.config.ReviewStreamProperties;
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewBulkResult;
+import com.reactivespring.stats.ReviewStatsAggregator;
+import com.reactivespring.stream.ReviewStream;
+import com.reactivespring.validation.ReviewValidator;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewBulkIngesterTest {
+
+    ReactiveMongoTemplate reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    MongoCollection<Document> collection = mock(MongoCollection.class);
+
+    ReviewStatsAggregator reviewStatsAggregator = mock(ReviewStatsAggregator.class);
+
+    ReviewStream reviewStream = new ReviewStream(new ReviewStreamProperties());
+
+    ReviewBulkIngester reviewBulkIngester = reviewBulkIngester(2, 1);
+
+    @BeforeEach
+    void setUp() {
+        when(reviewStatsAggregator.reviewsAdded(anyCollection())).thenReturn(Mono.empty());
+        when(reactiveMongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(reactiveMongoTemplate.getCollectionName(Review.class)).thenReturn("review");
+        when(reactiveMongoTemplate.getCollection("review")).thenReturn(Mono.just(collection));
+    }
+
+    @Test
+    void ingestInBatches() {
+        //given
+        List<Integer> batchSizes = new ArrayList<>();
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenAnswer(invocation -> {
+            List<Document> documents = invocation.getArgument(0);
+            batchSizes.add(documents.size());
+            return Mono.just(InsertManyResult.acknowledged(Map.of()));
+        });
+
+        //when
+        StepVerifier.create(reviewBulkIngester.ingest(Flux.just(
+                        line(null, 1L, 9.0), line("abc", 1L, 8.0), "", line(null, 2L, 7.0))))
+                //then
+                .expectNextMatches(result -> result.getIndex() == 0 && isCreated(result)
+                        && result.getReviewId() != null)
+                .expectNextMatches(result -> result.getIndex() == 1 && isCreated(result)
+                        && result.getReviewId().equals("abc"))
+                .expectNextMatches(result -> result.getIndex() == 2 && isCreated(result))
+                .verifyComplete();
+        assertEquals(List.of(2, 1), batchSizes);
+    }
+
+    @Test
+    void invalidLinesAreReportedAndSkipped() {
+        //given
+        givenInsertsSucceed();
+
+        //when
+        StepVerifier.create(reviewBulkIngester.ingest(Flux.just(
+                        line(null, null, 9.0), "{not json", "null", line(null, 1L, 8.0))))
+                //then
+                .expectNextMatches(result -> result.getStatus() == ReviewBulkResult.Status.INVALID
+                        && result.getError().equals("review.movieInfoId : must not be null"))
+                .expectNextMatches(result -> result.getStatus() == ReviewBulkResult.Status.INVALID
+                        && result.getError().startsWith("review : malformed JSON"))
+                .expectNextMatches(result -> result.getStatus() == ReviewBulkResult.Status.INVALID
+                        && result.getError().equals("review : must not be null"))
+                .expectNextMatches(this::isCreated)
+                .verifyComplete();
+    }
+
+    @Test
+    void batchWithoutValidLinesIsNotInserted() {
+        //when
+        StepVerifier.create(reviewBulkIngester.ingest(Flux.just("{not json")))
+                //then
+                .expectNextMatches(result -> result.getStatus() == ReviewBulkResult.Status.INVALID)
+                .verifyComplete();
+        verify(collection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+    }
+
+    @Test
+    void insertManyIsUnordered() {
+        //given
+        var options = ArgumentCaptor.forClass(InsertManyOptions.class);
+        when(collection.insertMany(anyList(), options.capture()))
+                .thenReturn(Mono.just(InsertManyResult.acknowledged(Map.of())));
+
+        //when
+        StepVerifier.create(reviewBulkIngester.ingest(Flux.just(line(null, 1L, 9.0))))
+                .expectNextMatches(this::isCreated)
+                .verifyComplete();
+
+        //then
+        assertFalse(options.getValue().isOrdered());
+    }
+
+    @Test
+    void failedReviewsAreTakenFromTheWriteErrors() {
+        //given - the second review of the batch is a duplicate, the other two are stored
+        var writeError = new BulkWriteError(11000, "E11000 duplicate key abc", new BsonDocument(), 1);
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenReturn(Mono.error(
+                new MongoBulkWriteException(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of()),
+                        List.of(writeError), null, new ServerAddress(), Set.of())));
+        List<Review> published = new ArrayList<>();
+        reviewStream.subscribe().subscribe(published::add);
+
+        //when
+        StepVerifier.create(reviewBulkIngester(3, 1).ingest(Flux.just(
+                        line(null, 1L, 9.0), line("abc", 1L, 8.0), line(null, 2L, 7.0))))
+                //then
+                .expectNextMatches(this::isCreated)
+                .expectNextMatches(result -> result.getStatus() == ReviewBulkResult.Status.FAILED
+                        && result.getReviewId().equals("abc")
+                        && result.getError().equals("E11000 duplicate key abc"))
+                .expectNextMatches(this::isCreated)
+                .verifyComplete();
+        verify(collection, times(1)).insertMany(anyList(), any(InsertManyOptions.class));
+        verify(reviewStatsAggregator).reviewsAdded(argThat(reviews -> reviews.size() == 2));
+        assertEquals(2, published.size());
+    }
+
+    @Test
+    void failedInsertManyFailsTheBatch() {
+        //given
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class)))
+                .thenReturn(Mono.error(new MongoSocketReadException("Prematurely reached end of stream",
+                        new ServerAddress())));
+
+        //when
+        StepVerifier.create(reviewBulkIngester.ingest(Flux.just(line(null, 1L, 9.0), line(null, 1L, 8.0))))
+                //then
+                .expectNextMatches(result -> result.getStatus() == ReviewBulkResult.Status.FAILED)
+                .expectNextMatches(result -> result.getStatus() == ReviewBulkResult.Status.FAILED)
+                .verifyComplete();
+        verify(reviewStatsAggregator).reviewsAdded(argThat(Collection::isEmpty));
+    }
+
+    @Test
+    void linesAreReadAsBatchesComplete() {
+        //given
+        givenInsertsSucceed();
+        var requested = new AtomicInteger();
+        var lines = Flux.range(0, 1000)
+                .map(i -> line(null, (long) i, 9.0))
+                .doOnRequest(n -> requested.addAndGet((int) Math.min(n, Integer.MAX_VALUE)));
+
+        //when
+        StepVerifier.create(reviewBulkIngester.ingest(lines), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        //then - one result asked for, only a couple of batches have been read
+        assert requested.get() < 1000;
+    }
+
+    private ReviewBulkIngester reviewBulkIngester(int batchSize, int maxInFlightBatches) {
+        var properties = new ReviewBulkProperties();
+        properties.setBatchSize(batchSize);
+        properties.setMaxInFlightBatches(maxInFlightBatches);
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        return new ReviewBulkIngester(reactiveMongoTemplate, new ObjectMapper(), new ReviewValidator(validator),
+                reviewStream, reviewStatsAggregator, properties);
+    }
+
+    private void givenInsertsSucceed() {
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class)))
+                .thenReturn(Mono.just(InsertManyResult.acknowledged(Map.of())));
+    }
+
+    private boolean isCreated(ReviewBulkResult result) {
+        return result.getStatus() == ReviewBulkResult.Status.CREATED;
+    }
+
+    private String line(String reviewId, Long movieInfoId, Double rating) {
+        try {
+            return new ObjectMapper().writeValueAsString(new Review(reviewId, movieInfoId, "Awesome Movie", rating));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.reactivespring.paging;
+
+import com.reactivespring.config.ReviewPageProperties;
+import com.reactivespring.domain.Review;
+import com.reactivespring.exception.ReviewDataException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReviewPagerTest {
+
+    ReactiveMongoTemplate reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+
+    ReviewPager reviewPager = new ReviewPager(reactiveMongoTemplate, pageProperties());
+
+    @Test
+    void firstPage() {
+        //given
+        var query = givenReviews(review("a"), review("b"), review("c"));
+
+        //when
+        StepVerifier.create(reviewPager.findPage(null, 2, null))
+                //then
+                .expectNextMatches(page -> page.getReviews().size() == 2
+                        && PageToken.decode(page.getNextPageToken(), null).getLastReviewId().equals("b"))
+                .verifyComplete();
+        assertEquals(3, query.getValue().getLimit());
+        assertEquals(new Document("_id", 1), query.getValue().getSortObject());
+        assertEquals(new Document(), query.getValue().getQueryObject());
+    }
+
+    @Test
+    void lastPage() {
+        //given
+        givenReviews(review("a"));
+
+        //when
+        StepVerifier.create(reviewPager.findPage(null, 2, null))
+                //then
+                .expectNextMatches(page -> page.getReviews().size() == 1 && page.getNextPageToken() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void nextPageOfMovieStartsAfterTheToken() {
+        //given
+        var lastReviewId = new ObjectId();
+        var query = givenReviews();
+
+        //when
+        StepVerifier.create(reviewPager.findPage(1L, 2, new PageToken(1L, lastReviewId.toHexString()).encode()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        //then
+        var queryObject = query.getValue().getQueryObject();
+        assertEquals(1L, queryObject.get("movieInfoId"));
+        assertEquals(List.of(new Document("_id", new Document("$gt", lastReviewId))), queryObject.get("$and"));
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        //given
+        var query = givenReviews();
+
+        //when
+        StepVerifier.create(reviewPager.findPage(null, 10_000, null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        //then
+        assertEquals(6, query.getValue().getLimit());
+    }
+
+    @Test
+    void defaultPageSize() {
+        //given
+        var query = givenReviews();
+
+        //when
+        StepVerifier.create(reviewPager.findPage(null, null, null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        //then
+        assertEquals(4, query.getValue().getLimit());
+    }
+
+    @Test
+    void tokenOfAnotherMovie() {
+        //when
+        StepVerifier.create(reviewPager.findPage(2L, 2, new PageToken(1L, "abc").encode()))
+                //then
+                .expectErrorMessage("review.pageToken : does not belong to this query")
+                .verify();
+    }
+
+    @Test
+    void invalidToken() {
+        //when
+        StepVerifier.create(reviewPager.findPage(null, 2, "not a token"))
+                //then
+                .expectError(ReviewDataException.class)
+                .verify();
+    }
+
+    @Test
+    void tokenRoundTrip() {
+        //when
+        var pageToken = PageToken.decode(new PageToken(null, "abc").encode(), null);
+
+        //then
+        assertEquals("abc", pageToken.getLastReviewId());
+    }
+
+    private ArgumentCaptor<Query> givenReviews(Review... reviews) {
+        var query = ArgumentCaptor.forClass(Query.class);
+        when(reactiveMongoTemplate.find(query.capture(), eq(Review.class))).thenReturn(Flux.just(reviews));
+        return query;
+    }
+
+    private Review review(String reviewId) {
+        return new Review(reviewId, 1L, "Awesome Movie", 9.0);
+    }
+
+    private ReviewPageProperties pageProperties() {
+        var properties = new ReviewPageProperties();
+        properties.setDefaultSize(3);
+        properties.setMaxSize(5);
+        return properties;
+    }
+}
@@ -0,0 +1,124 @@
+package com.reactivespring.repository;
+
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewStats;
+import com.reactivespring.domain.ReviewWithRevision;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReviewReactiveRepositoryCustomImplTest {
+
+    ReactiveMongoTemplate reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+
+    ReviewReactiveRepositoryCustomImpl reviewRepository = new ReviewReactiveRepositoryCustomImpl(reactiveMongoTemplate);
+
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+
+    @Test
+    void updateReview() {
+        //given
+        var previous = new Review("abc", 1L, "Awesome Movie", 9.0, 0L);
+        when(reactiveMongoTemplate.findAndModify(query.capture(), update.capture(), options.capture(),
+                eq(Review.class)))
+                .thenReturn(Mono.just(previous));
+
+        //when
+        StepVerifier.create(reviewRepository.updateReview("abc", new Review(null, 1L, "Not an Awesome Movie", 8.0)))
+                .expectNext(previous)
+                .verifyComplete();
+
+        //then
+        assertEquals(new Document("_id", "abc"), query.getValue().getQueryObject());
+        var updateObject = update.getValue().getUpdateObject();
+        assertEquals(new Document(Map.of("comment", "Not an Awesome Movie", "rating", 8.0)), updateObject.get("$set"));
+        assertEquals(new Document("version", 1), updateObject.get("$inc"));
+        assertFalse(options.getValue().isReturnNew());
+    }
+
+    @Test
+    void updateReviewLeavesOutNullFields() {
+        //given
+        when(reactiveMongoTemplate.findAndModify(query.capture(), update.capture(), options.capture(),
+                eq(Review.class)))
+                .thenReturn(Mono.empty());
+
+        //when
+        StepVerifier.create(reviewRepository.updateReview("abc", new Review(null, 1L, null, 8.0)))
+                .verifyComplete();
+
+        //then
+        assertEquals(new Document("rating", 8.0), update.getValue().getUpdateObject().get("$set"));
+    }
+
+    @Test
+    void updateReviewOfVersion() {
+        //given
+        when(reactiveMongoTemplate.findAndModify(query.capture(), update.capture(), options.capture(),
+                eq(Review.class)))
+                .thenReturn(Mono.empty());
+
+        //when
+        StepVerifier.create(reviewRepository.updateReview("abc", new Review(null, 1L, "Not an Awesome Movie", 8.0, 2L)))
+                .verifyComplete();
+
+        //then
+        assertEquals(new Document(Map.of("_id", "abc", "version", 2L)), query.getValue().getQueryObject());
+    }
+
+    @Test
+    void deleteReview() {
+        //given
+        var removed = new Review("abc", 1L, "Awesome Movie", 9.0, 0L);
+        when(reactiveMongoTemplate.findAndRemove(query.capture(), eq(Review.class))).thenReturn(Mono.just(removed));
+
+        //when
+        StepVerifier.create(reviewRepository.deleteReview("abc"))
+                .expectNext(removed)
+                .verifyComplete();
+
+        //then
+        assertEquals(new Document("_id", "abc"), query.getValue().getQueryObject());
+    }
+
+    @Test
+    void findWithRevisionByMovieInfoId() {
+        //given
+        var aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        when(reactiveMongoTemplate.getCollectionName(Review.class)).thenReturn("review");
+        when(reactiveMongoTemplate.getCollectionName(ReviewStats.class)).thenReturn("reviewStats");
+        when(reactiveMongoTemplate.aggregate(aggregation.capture(), eq("review"), eq(ReviewWithRevision.class)))
+                .thenReturn(Flux.just(new ReviewWithRevision(new Review("abc", 1L, "Awesome Movie", 9.0), "r1")));
+
+        //when
+        StepVerifier.create(reviewRepository.findWithRevisionByMovieInfoId(1L))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        //then
+        var pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(new Document("$match", new Document("movieInfoId", 1L)), pipeline.get(0));
+        assertEquals(new Document("$sort", new Document("_id", 1)), pipeline.get(1));
+        assertEquals(new Document("$lookup", new Document(Map.of("from", "reviewStats",
+                "localField", "review.movieInfoId", "foreignField", "_id", "as", "stats"))), pipeline.get(3));
+        assertEquals(100, aggregation.getValue().getOptions().getCursorBatchSize());
+    }
+}
@@ -1,4 +1,591 @@
 package com.reactivespring.routes;
 
-public class ReviewsUnitTest {
+import com.reactivespring.bulk.ReviewBulkIngester;
+import com.reactivespring.config.ReviewStreamProperties;
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewBulkResult;
+import com.reactivespring.domain.ReviewStats;
+import com.reactivespring.domain.ReviewWithRevision;
+import com.reactivespring.exceptionhandler.GlobalErrorHandler;
+import com.reactivespring.handler.ReviewHandler;
+import com.reactivespring.paging.ReviewPage;
+import com.reactivespring.paging.ReviewPager;
+import com.reactivespring.repository.ReviewReactiveRepository;
+import com.reactivespring.router.ReviewRouter;
+import com.reactivespring.stats.ReviewStatsAggregator;
+import com.reactivespring.stream.ReviewStream;
+import com.reactivespring.util.ETags;
+import com.reactivespring.validation.ReviewValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest
+@ContextConfiguration(classes = {ReviewRouter.class, ReviewHandler.class, ReviewValidator.class, ReviewStream.class,
+        GlobalErrorHandler.class})
+@EnableConfigurationProperties(ReviewStreamProperties.class)
+@AutoConfigureWebTestClient
+class ReviewsUnitTest {
+
+    static final String REVIEWS_URL = "/v1/reviews";
+
+    @MockBean
+    ReviewReactiveRepository reviewReactiveRepository;
+
+    @MockBean
+    ReviewBulkIngester reviewBulkIngester;
+
+    @MockBean
+    ReviewStatsAggregator reviewStatsAggregator;
+
+    @MockBean
+    ReviewPager reviewPager;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        when(reviewStatsAggregator.reviewAdded(any())).thenReturn(Mono.empty());
+        when(reviewStatsAggregator.reviewUpdated(any(), any())).thenReturn(Mono.empty());
+        when(reviewStatsAggregator.reviewDeleted(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void addReview() {
+        //given
+        var review = new Review(null, 1L, "Awesome Movie", 9.0);
+        when(reviewReactiveRepository.insert(isA(Review.class)))
+                .thenReturn(Mono.just(new Review("abc", 1L, "Awesome Movie", 9.0)));
+
+        //when
+        webTestClient.post()
+                .uri(REVIEWS_URL)
+                .bodyValue(review)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Review.class)
+                .consumeWith(reviewResponse -> {
+                    var savedReview = reviewResponse.getResponseBody();
+                    //then
+                    assert savedReview != null;
+                    assert savedReview.getReviewId() != null;
+                });
+    }
+
+    @Test
+    void addReviewsInBulk() {
+        //given
+        when(reviewBulkIngester.ingest(any())).thenReturn(Flux.just(
+                ReviewBulkResult.created(0, "abc"),
+                ReviewBulkResult.invalid(1, "review.movieInfoId : must not be null")));
+
+        //when
+        webTestClient.post()
+                .uri(REVIEWS_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"movieInfoId\":1,\"comment\":\"Awesome Movie\",\"rating\":9.0}\n{\"rating\":9.0}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ReviewBulkResult.class)
+                //then
+                .hasSize(2);
+    }
+
+    @Test
+    void getReviewsStream() {
+        //given
+        var review = new Review("abc", 1L, "Awesome Movie", 9.0);
+        when(reviewReactiveRepository.insert(isA(Review.class))).thenReturn(Mono.just(review));
+
+        var events = webTestClient.get()
+                .uri(REVIEWS_URL + "/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<Review>>() {
+                })
+                .getResponseBody();
+
+        //when
+        StepVerifier.create(events)
+                .then(() -> webTestClient.post()
+                        .uri(REVIEWS_URL)
+                        .bodyValue(review)
+                        .exchange()
+                        .expectStatus().isCreated())
+                .expectNextMatches(event -> "heartbeat".equals(event.comment()))
+                //then
+                .expectNextMatches(event -> "review".equals(event.event())
+                        && "abc".equals(Objects.requireNonNull(event.data()).getReviewId()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void addReviewValidation() {
+        //given
+        var review = new Review(null, null, "Awesome Movie", -9.0);
+
+        //when
+        webTestClient.post()
+                .uri(REVIEWS_URL)
+                .bodyValue(review)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                //then
+                .isEqualTo("review.movieInfoId : must not be null,review.rating : please pass a non-negative value");
+        verify(reviewReactiveRepository, never()).insert(any(Review.class));
+    }
+
+    @Test
+    void addReviewWithExistingId() {
+        //given
+        when(reviewReactiveRepository.insert(isA(Review.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        //when
+        webTestClient.post()
+                .uri(REVIEWS_URL)
+                .bodyValue(new Review("abc", 1L, "Awesome Movie", 9.0))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(String.class)
+                //then
+                .isEqualTo("Review already exists for the given Review id abc");
+        verify(reviewStatsAggregator, never()).reviewAdded(any());
+    }
+
+    @Test
+    void addReviewIsNeverAnUpdate() {
+        //given
+        var review = new Review("abc", 1L, "Awesome Movie", 9.0);
+        when(reviewReactiveRepository.insert(isA(Review.class))).thenReturn(Mono.just(review));
+
+        //when
+        webTestClient.post()
+                .uri(REVIEWS_URL)
+                .bodyValue(review)
+                .exchange()
+                .expectStatus().isCreated();
+
+        //then
+        verify(reviewReactiveRepository, never()).save(any(Review.class));
+        verify(reviewStatsAggregator, times(1)).reviewAdded(review);
+        verify(reviewStatsAggregator, never()).reviewUpdated(any(), any());
+    }
+
+    @Test
+    void addReviewWithVersion() {
+        //when
+        webTestClient.post()
+                .uri(REVIEWS_URL)
+                .bodyValue(new Review("abc", 1L, "Awesome Movie", 9.0, 2L))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                //then
+                .isEqualTo("review.version : must be null, use PUT to update a review");
+        verify(reviewReactiveRepository, never()).insert(any(Review.class));
+    }
+
+    @Test
+    void getReviews() {
+        //given
+        when(reviewPager.findPage(null, null, null)).thenReturn(Mono.just(new ReviewPage(List.of(
+                new Review("abc", 1L, "Awesome Movie", 9.0),
+                new Review("def", 2L, "Excellent Movie", 8.0)), "next")));
+
+        //when
+        webTestClient.get()
+                .uri(REVIEWS_URL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ReviewHandler.NEXT_PAGE_TOKEN_HEADER, "next")
+                .expectBodyList(Review.class)
+                //then
+                .hasSize(2);
+    }
+
+    @Test
+    void getReviewsPageOfMovie() {
+        //given
+        when(reviewPager.findPage(1L, 1, "token")).thenReturn(Mono.just(new ReviewPage(List.of(
+                new Review("abc", 1L, "Awesome Movie", 9.0)), null)));
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL)
+                        .queryParam("movieInfoId", 1L)
+                        .queryParam("limit", 1)
+                        .queryParam("pageToken", "token")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(ReviewHandler.NEXT_PAGE_TOKEN_HEADER)
+                .expectBodyList(Review.class)
+                //then
+                .hasSize(1);
+        verify(reviewReactiveRepository, never()).findByMovieInfoId(any());
+    }
+
+    @Test
+    void getReviewsByMovieInfoId() {
+        //given
+        when(reviewReactiveRepository.findWithRevisionByMovieInfoId(1L)).thenReturn(Flux.just(
+                new ReviewWithRevision(new Review("abc", 1L, "Awesome Movie", 9.0), "r1"),
+                new ReviewWithRevision(new Review("def", 1L, "Excellent Movie", 8.0), "r1")));
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL).queryParam("movieInfoId", 1L).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .expectBodyList(Review.class)
+                //then
+                .hasSize(2);
+        verify(reviewStatsAggregator, never()).getRevision(any());
+        verify(reviewPager, never()).findPage(any(), any(), any());
+    }
+
+    @Test
+    void getReviewsByMovieInfoIdWithoutStats() {
+        //given
+        when(reviewReactiveRepository.findWithRevisionByMovieInfoId(1L)).thenReturn(Flux.just(
+                new ReviewWithRevision(new Review("abc", 1L, "Awesome Movie", 9.0), null)));
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL).queryParam("movieInfoId", 1L).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("ETag")
+                .expectBodyList(Review.class)
+                //then
+                .hasSize(1);
+    }
+
+    @Test
+    void getReviewsByMovieInfoIdNotModified() {
+        //given
+        when(reviewReactiveRepository.findWithRevisionByMovieInfoId(1L)).thenReturn(Flux.just(
+                new ReviewWithRevision(new Review("abc", 1L, "Awesome Movie", 9.0), "r1")));
+        when(reviewStatsAggregator.getRevision(1L)).thenReturn(Mono.just("r1"));
+        var eTag = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL).queryParam("movieInfoId", 1L).build())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Review.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL).queryParam("movieInfoId", 1L).build())
+                .header("If-None-Match", eTag)
+                .exchange()
+                //then
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        verify(reviewReactiveRepository, times(1)).findWithRevisionByMovieInfoId(1L);
+    }
+
+    @Test
+    void getReviewsByMovieInfoIdChangedRevision() {
+        //given
+        when(reviewReactiveRepository.findWithRevisionByMovieInfoId(1L))
+                .thenReturn(Flux.just(new ReviewWithRevision(new Review("abc", 1L, "Awesome Movie", 9.0), "r1")))
+                .thenReturn(Flux.just(new ReviewWithRevision(new Review("abc", 1L, "Great Movie", 9.0), "r2")));
+        when(reviewStatsAggregator.getRevision(1L)).thenReturn(Mono.just("r2"));
+        var eTag = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL).queryParam("movieInfoId", 1L).build())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Review.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL).queryParam("movieInfoId", 1L).build())
+                .header("If-None-Match", eTag)
+                .exchange()
+                //then
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", ETags.of(1L, "r2"))
+                .expectBodyList(Review.class)
+                .contains(new Review("abc", 1L, "Great Movie", 9.0));
+    }
+
+    @Test
+    void getReviewsPageNotModified() {
+        //given
+        when(reviewPager.findPage(null, null, null)).thenReturn(Mono.just(new ReviewPage(List.of(
+                new Review("abc", 1L, "Awesome Movie", 9.0)), "next")));
+        var eTag = webTestClient.get()
+                .uri(REVIEWS_URL)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Review.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when
+        webTestClient.get()
+                .uri(REVIEWS_URL)
+                .header("If-None-Match", eTag)
+                .exchange()
+                //then
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void getReviewsPageRecreatedReview() {
+        //given - deleted and posted again under the same id, the version starts over
+        when(reviewPager.findPage(null, null, null))
+                .thenReturn(Mono.just(new ReviewPage(List.of(new Review("abc", 1L, "Awesome Movie", 9.0)), null)))
+                .thenReturn(Mono.just(new ReviewPage(List.of(new Review("abc", 1L, "Boring Movie", 3.0)), null)));
+        var eTag = webTestClient.get()
+                .uri(REVIEWS_URL)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Review.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when
+        webTestClient.get()
+                .uri(REVIEWS_URL)
+                .header("If-None-Match", eTag)
+                .exchange()
+                //then
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void getReviewsByInvalidMovieInfoId() {
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL).queryParam("movieInfoId", "abc").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                //then
+                .isEqualTo("review.movieInfoId : must be a number");
+    }
+
+    @Test
+    void updateReview() {
+        //given
+        var reviewUpdate = new Review(null, 1L, "Not an Awesome Movie", 8.0);
+        when(reviewReactiveRepository.updateReview(eq("abc"), isA(Review.class)))
+                .thenReturn(Mono.just(new Review("abc", 1L, "Awesome Movie", 9.0, 3L)));
+
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(reviewUpdate)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Review.class)
+                .consumeWith(reviewResponse -> {
+                    var updatedReview = reviewResponse.getResponseBody();
+                    //then
+                    assert updatedReview != null;
+                    assert updatedReview.getRating() == 8.0;
+                    assert "Not an Awesome Movie".equals(updatedReview.getComment());
+                    assert updatedReview.getVersion() == 4L;
+                });
+        verify(reviewReactiveRepository, never()).findById(anyString());
+        verify(reviewReactiveRepository, never()).save(any());
+    }
+
+    @Test
+    void updateReviewOnlyChangesThePassedFields() {
+        //given
+        when(reviewReactiveRepository.updateReview(eq("abc"), isA(Review.class)))
+                .thenReturn(Mono.just(new Review("abc", 1L, "Awesome Movie", 9.0, 3L)));
+
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(new Review(null, 1L, null, 8.0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Review.class)
+                .consumeWith(reviewResponse -> {
+                    var updatedReview = reviewResponse.getResponseBody();
+                    //then
+                    assert updatedReview != null;
+                    assert updatedReview.getRating() == 8.0;
+                    assert "Awesome Movie".equals(updatedReview.getComment());
+                });
+    }
+
+    @Test
+    void updateReviewWithoutMovieInfoId() {
+        //given
+        when(reviewReactiveRepository.updateReview(eq("abc"), isA(Review.class)))
+                .thenReturn(Mono.just(new Review("abc", 1L, "Awesome Movie", 9.0, 3L)));
+
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(new Review(null, null, null, 8.0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Review.class)
+                //then
+                .isEqualTo(new Review("abc", 1L, "Awesome Movie", 8.0, 4L));
+    }
+
+    @Test
+    void updateReviewValidation() {
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(new Review(null, null, null, -8.0))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                //then
+                .isEqualTo("review.rating : please pass a non-negative value");
+        verify(reviewReactiveRepository, never()).updateReview(anyString(), any());
+    }
+
+    @Test
+    void updateReviewWithStaleVersion() {
+        //given
+        when(reviewReactiveRepository.updateReview(eq("abc"), isA(Review.class))).thenReturn(Mono.empty());
+
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(new Review(null, 1L, "Not an Awesome Movie", 8.0, 2L))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class)
+                //then
+                .isEqualTo("Review not found for the given Review id abc and version 2");
+    }
+
+    @Test
+    void getReviewStats() {
+        //given
+        when(reviewStatsAggregator.getStats(1L)).thenReturn(Mono.just(
+                new ReviewStats(1L, 2, 2, 17.0, 8.0, 9.0, Map.of("8", 1L, "9", 1L), "r1")));
+
+        //when
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(REVIEWS_URL + "/stats").queryParam("movieInfoId", 1L).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                //then
+                .jsonPath("$.count").isEqualTo(2)
+                .jsonPath("$.average").isEqualTo(8.5)
+                .jsonPath("$.histogram.8").isEqualTo(1);
+    }
+
+    @Test
+    void getReviewStatsWithoutMovieInfoId() {
+        //when
+        webTestClient.get()
+                .uri(REVIEWS_URL + "/stats")
+                .exchange()
+                //then
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void updateReviewUpdatesStats() {
+        //given
+        when(reviewReactiveRepository.updateReview(eq("abc"), isA(Review.class)))
+                .thenReturn(Mono.just(new Review("abc", 1L, "Awesome Movie", 9.0)));
+
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(new Review(null, 1L, "Not an Awesome Movie", 8.0))
+                .exchange()
+                .expectStatus().isOk();
+
+        //then
+        verify(reviewStatsAggregator).reviewUpdated(
+                argThat(previous -> previous.getRating() == 9.0), argThat(updated -> updated.getRating() == 8.0));
+    }
+
+    @Test
+    void updateReviewNotFound() {
+        //given
+        when(reviewReactiveRepository.updateReview(anyString(), isA(Review.class))).thenReturn(Mono.empty());
+
+        //when
+        webTestClient.put()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .bodyValue(new Review(null, 1L, "Not an Awesome Movie", 8.0))
+                .exchange()
+                //then
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteReview() {
+        //given
+        when(reviewReactiveRepository.deleteReview("abc"))
+                .thenReturn(Mono.just(new Review("abc", 1L, "Awesome Movie", 9.0)));
+
+        //when
+        webTestClient.delete()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .exchange()
+                //then
+                .expectStatus().isNoContent();
+        verify(reviewStatsAggregator).reviewDeleted(argThat(review -> review.getReviewId().equals("abc")));
+    }
+
+    @Test
+    void deleteReviewAlreadyDeleted() {
+        //given
+        when(reviewReactiveRepository.deleteReview("abc")).thenReturn(Mono.empty());
+
+        //when
+        webTestClient.delete()
+                .uri(REVIEWS_URL + "/{id}", "abc")
+                .exchange()
+                //then
+                .expectStatus().isNotFound();
+        verify(reviewStatsAggregator, never()).reviewDeleted(any());
+    }
 }
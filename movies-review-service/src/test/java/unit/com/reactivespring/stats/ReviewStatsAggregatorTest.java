@@ -0,0 +1,286 @@
+package com.reactivespring.stats;
+
+import com.mongodb.client.result.UpdateResult;
+import com.reactivespring.domain.Review;
+import com.reactivespring.domain.ReviewStats;
+import com.reactivespring.repository.ReviewReactiveRepository;
+import com.reactivespring.repository.ReviewStatsReactiveRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewStatsAggregatorTest {
+
+    ReactiveMongoTemplate reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+    ReviewReactiveRepository reviewReactiveRepository = mock(ReviewReactiveRepository.class);
+    ReviewStatsReactiveRepository reviewStatsReactiveRepository = mock(ReviewStatsReactiveRepository.class);
+
+    ReviewStatsAggregator reviewStatsAggregator = new ReviewStatsAggregator(reactiveMongoTemplate,
+            reviewReactiveRepository, reviewStatsReactiveRepository);
+
+    @Test
+    void reviewAdded() {
+        //given
+        var update = givenStatsAfterUpdate(new ReviewStats(1L, 1, 1, 8.5, 8.5, 8.5, Map.of("8", 1L), "r1"));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewAdded(new Review("abc", 1L, "Awesome Movie", 8.5)))
+                .verifyComplete();
+
+        //then
+        var updateObject = update.getValue().getUpdateObject();
+        assertEquals(new Document(Map.of("count", 1L, "ratingCount", 1L, "sum", 8.5, "histogram.8", 1L)),
+                updateObject.get("$inc"));
+        assertEquals(new Document("min", 8.5), updateObject.get("$min"));
+        assertEquals(new Document("max", 8.5), updateObject.get("$max"));
+    }
+
+    @Test
+    void reviewsAddedUpdatesEachMovieOnce() {
+        //given
+        var update = givenStatsAfterUpdate(ReviewStats.empty(1L));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewsAdded(List.of(
+                        new Review("abc", 1L, "Awesome Movie", 8.0),
+                        new Review("def", 2L, "Awesome Movie", 7.0),
+                        new Review("ghi", 1L, "Awesome Movie", 9.0))))
+                .verifyComplete();
+
+        //then
+        var updates = update.getAllValues();
+        assertEquals(2, updates.size());
+        assertEquals(2L, ((Document) updates.get(0).getUpdateObject().get("$inc")).get("count"));
+        assertEquals(17.0, ((Document) updates.get(0).getUpdateObject().get("$inc")).get("sum"));
+    }
+
+    @Test
+    void reviewDeletedKeepsBoundsWhenNotTouched() {
+        //given
+        givenStatsAfterUpdate(new ReviewStats(1L, 2, 2, 17.0, 7.0, 10.0, Map.of(), "r1"));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewDeleted(new Review("abc", 1L, "Awesome Movie", 8.0)))
+                .verifyComplete();
+
+        //then
+        verify(reactiveMongoTemplate, never()).aggregate(any(Aggregation.class), eq(Review.class), eq(Document.class));
+    }
+
+    @Test
+    void reviewDeletedRecomputesBounds() {
+        //given - the deleted review held the max
+        givenStatsAfterUpdate(new ReviewStats(1L, 1, 1, 7.0, 7.0, 9.0, Map.of("7", 1L), "r1"));
+        when(reactiveMongoTemplate.aggregate(any(Aggregation.class), eq(Review.class), eq(Document.class)))
+                .thenReturn(Flux.just(new Document(Map.of("min", 7.0, "max", 7.0))));
+        var boundsQuery = ArgumentCaptor.forClass(Query.class);
+        var boundsUpdate = ArgumentCaptor.forClass(Update.class);
+        when(reactiveMongoTemplate.updateFirst(boundsQuery.capture(), boundsUpdate.capture(), eq(ReviewStats.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewDeleted(new Review("abc", 1L, "Awesome Movie", 9.0)))
+                .verifyComplete();
+
+        //then
+        assertEquals(new Document(Map.of("_id", 1L, "revision", "r1")), boundsQuery.getValue().getQueryObject());
+        var set = (Document) boundsUpdate.getValue().getUpdateObject().get("$set");
+        assertEquals(7.0, set.get("min"));
+        assertEquals(7.0, set.get("max"));
+        assertNotEquals("r1", set.get("revision"));
+    }
+
+    @Test
+    void reviewDeletedRecomputesBoundsAgainWhenTheStatsChanged() {
+        //given - a $min lands between the first read of the bounds and their update
+        givenStatsAfterUpdate(new ReviewStats(1L, 1, 1, 7.0, 7.0, 9.0, Map.of("7", 1L), "r1"));
+        when(reactiveMongoTemplate.aggregate(any(Aggregation.class), eq(Review.class), eq(Document.class)))
+                .thenReturn(Flux.just(new Document(Map.of("min", 7.0, "max", 7.0))))
+                .thenReturn(Flux.just(new Document(Map.of("min", 5.0, "max", 7.0))));
+        var boundsQuery = ArgumentCaptor.forClass(Query.class);
+        var boundsUpdate = ArgumentCaptor.forClass(Update.class);
+        when(reactiveMongoTemplate.updateFirst(boundsQuery.capture(), boundsUpdate.capture(), eq(ReviewStats.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(ReviewStats.class)))
+                .thenReturn(Mono.just(new ReviewStats(1L, 2, 2, 12.0, 5.0, 9.0, Map.of(), "r2")));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewDeleted(new Review("abc", 1L, "Awesome Movie", 9.0)))
+                .verifyComplete();
+
+        //then
+        assertEquals("r2", boundsQuery.getAllValues().get(1).getQueryObject().get("revision"));
+        assertEquals(5.0, ((Document) boundsUpdate.getAllValues().get(1).getUpdateObject().get("$set")).get("min"));
+    }
+
+    @Test
+    void reviewDeletedGivesUpOnBoundsThatKeepChanging() {
+        //given
+        givenStatsAfterUpdate(new ReviewStats(1L, 1, 1, 7.0, 7.0, 9.0, Map.of("7", 1L), "r1"));
+        when(reactiveMongoTemplate.aggregate(any(Aggregation.class), eq(Review.class), eq(Document.class)))
+                .thenReturn(Flux.just(new Document(Map.of("min", 7.0, "max", 7.0))));
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ReviewStats.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(ReviewStats.class)))
+                .thenReturn(Mono.just(new ReviewStats(1L, 2, 2, 12.0, 5.0, 9.0, Map.of(), "r2")));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewDeleted(new Review("abc", 1L, "Awesome Movie", 9.0)))
+                .verifyComplete();
+
+        //then
+        verify(reactiveMongoTemplate, times(3)).updateFirst(any(Query.class), any(Update.class),
+                eq(ReviewStats.class));
+    }
+
+    @Test
+    void reviewUpdatedWithSameRating() {
+        //given
+        var update = givenStatsAfterUpdate(new ReviewStats(1L, 1, 1, 9.0, 9.0, 9.0, Map.of("9", 1L), "r2"));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewUpdated(new Review("abc", 1L, "Awesome Movie", 9.0),
+                        new Review("abc", 1L, "Not an Awesome Movie", 9.0)))
+                .verifyComplete();
+
+        //then - only the revision changes
+        var updateObject = update.getValue().getUpdateObject();
+        assertEquals(new Document(Map.of("count", 0L, "ratingCount", 0L, "sum", 0.0)), updateObject.get("$inc"));
+        assertNull(updateObject.get("$min"));
+        assertNotNull(((Document) updateObject.get("$set")).get("revision"));
+    }
+
+    @Test
+    void everyUpdateSetsANewRevision() {
+        //given
+        var update = givenStatsAfterUpdate(ReviewStats.empty(1L));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewAdded(new Review("abc", 1L, "Awesome Movie", 8.0))
+                        .then(reviewStatsAggregator.reviewDeleted(new Review("abc", 1L, "Awesome Movie", 8.0)))
+                        .then(reviewStatsAggregator.reviewAdded(new Review("abc", 1L, "Awesome Movie", 8.0))))
+                .verifyComplete();
+
+        //then
+        var revisions = update.getAllValues().stream()
+                .map(value -> ((Document) value.getUpdateObject().get("$set")).get("revision"))
+                .collect(Collectors.toSet());
+        assertEquals(3, revisions.size());
+    }
+
+    @Test
+    void getRevision() {
+        //given
+        var query = ArgumentCaptor.forClass(Query.class);
+        when(reactiveMongoTemplate.findOne(query.capture(), eq(ReviewStats.class)))
+                .thenReturn(Mono.just(new ReviewStats(1L, 0, 0, 0, null, null, Map.of(), "r1")));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.getRevision(1L))
+                .expectNext("r1")
+                .verifyComplete();
+
+        //then
+        assertEquals(new Document("revision", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void failedUpdateIsLeftToTheRebuild() {
+        //given
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ReviewStats.class))).thenReturn(Mono.error(new IllegalStateException("Mongo is down")));
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ReviewStats.class)))
+                .thenReturn(Mono.error(new IllegalStateException("Mongo is down")));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewAdded(new Review("abc", 1L, "Awesome Movie", 8.0)))
+                //then
+                .verifyComplete();
+    }
+
+    @Test
+    void failedBoundsStillSetANewRevision() {
+        //given
+        givenStatsAfterUpdate(new ReviewStats(1L, 1, 1, 7.0, 7.0, 9.0, Map.of("7", 1L), "r1"));
+        when(reactiveMongoTemplate.aggregate(any(Aggregation.class), eq(Review.class), eq(Document.class)))
+                .thenReturn(Flux.error(new IllegalStateException("Mongo is down")));
+        var query = ArgumentCaptor.forClass(Query.class);
+        var update = ArgumentCaptor.forClass(Update.class);
+        when(reactiveMongoTemplate.updateFirst(query.capture(), update.capture(), eq(ReviewStats.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.reviewDeleted(new Review("abc", 1L, "Awesome Movie", 9.0)))
+                .verifyComplete();
+
+        //then
+        assertEquals(new Document("_id", 1L), query.getValue().getQueryObject());
+        assertNotNull(((Document) update.getValue().getUpdateObject().get("$set")).get("revision"));
+    }
+
+    @Test
+    void rebuild() {
+        //given
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(Flux.just(
+                new Review("abc", 1L, "Awesome Movie", 8.0),
+                new Review("def", 1L, "Awesome Movie", null),
+                new Review("ghi", 2L, "Awesome Movie", 7.0)));
+        List<ReviewStats> saved = new ArrayList<>();
+        when(reviewStatsReactiveRepository.save(any(ReviewStats.class))).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return Mono.just(invocation.getArgument(0));
+        });
+        when(reviewStatsReactiveRepository.findAll()).thenReturn(Flux.just(
+                ReviewStats.empty(1L), ReviewStats.empty(2L), ReviewStats.empty(3L)));
+        when(reviewReactiveRepository.existsByMovieInfoId(any())).thenAnswer(invocation ->
+                Mono.just(!invocation.getArgument(0).equals(3L)));
+        when(reviewStatsReactiveRepository.deleteById(any(Long.class))).thenReturn(Mono.empty());
+
+        //when
+        StepVerifier.create(reviewStatsAggregator.rebuild())
+                .expectNext(2L)
+                .verifyComplete();
+
+        //then
+        assertEquals(2, saved.size());
+        assertEquals(2, saved.get(0).getCount());
+        assertEquals(1, saved.get(0).getRatingCount());
+        assertEquals(8.0, saved.get(0).getAverage());
+        assertEquals(7.0, saved.get(1).getMin());
+        assertNotNull(saved.get(0).getRevision());
+        verify(reviewStatsReactiveRepository, times(1)).deleteById(3L);
+    }
+
+    private ArgumentCaptor<Update> givenStatsAfterUpdate(ReviewStats stats) {
+        var update = ArgumentCaptor.forClass(Update.class);
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(ReviewStats.class))).thenReturn(Mono.just(stats));
+        return update;
+    }
+}
@@ -0,0 +1,111 @@
+package com.reactivespring.stream;
+
+import com.reactivespring.config.ReviewStreamProperties;
+import com.reactivespring.domain.Review;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReviewStreamTest {
+
+    @Test
+    void publishToEverySubscriber() {
+        //given
+        var reviewStream = reviewStream(ReviewStreamProperties.OverflowStrategy.DROP_OLDEST);
+
+        //when
+        StepVerifier.create(reviewStream.subscribe().take(1))
+                .then(() -> StepVerifier.create(reviewStream.subscribe().take(1))
+                        .then(() -> reviewStream.publish(review("abc")))
+                        .expectNextMatches(review -> review.getReviewId().equals("abc"))
+                        .verifyComplete())
+                //then
+                .expectNextMatches(review -> review.getReviewId().equals("abc"))
+                .verifyComplete();
+    }
+
+    @Test
+    void slowSubscriberDoesNotStallOthers() {
+        //given
+        var reviewStream = reviewStream(ReviewStreamProperties.OverflowStrategy.DROP_OLDEST);
+
+        //when - the slow subscriber asks for nothing while 5 reviews are published
+        StepVerifier.create(reviewStream.subscribe(), 0)
+                .then(() -> StepVerifier.create(reviewStream.subscribe().take(5))
+                        .then(() -> publish(reviewStream, "1", "2", "3", "4", "5"))
+                        .expectNextCount(5)
+                        .verifyComplete())
+                //then - only the latest reviews fit in its buffer
+                .thenRequest(2)
+                .expectNextMatches(review -> review.getReviewId().equals("4"))
+                .expectNextMatches(review -> review.getReviewId().equals("5"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void dropLatest() {
+        //given
+        var reviewStream = reviewStream(ReviewStreamProperties.OverflowStrategy.DROP_LATEST);
+
+        //when
+        StepVerifier.create(reviewStream.subscribe(), 0)
+                .then(() -> publish(reviewStream, "1", "2", "3"))
+                .thenRequest(3)
+                //then
+                .expectNextMatches(review -> review.getReviewId().equals("1"))
+                .expectNextMatches(review -> review.getReviewId().equals("2"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void disconnectSlowSubscriber() {
+        //given
+        var reviewStream = reviewStream(ReviewStreamProperties.OverflowStrategy.DISCONNECT);
+
+        //when
+        StepVerifier.create(reviewStream.subscribe(), 0)
+                .then(() -> publish(reviewStream, "1", "2", "3"))
+                .thenRequest(3)
+                .expectNextCount(2)
+                //then
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify();
+        assertEquals(0, reviewStream.subscriberCount());
+    }
+
+    @Test
+    void publishWithoutSubscribers() {
+        //given
+        var reviewStream = reviewStream(ReviewStreamProperties.OverflowStrategy.DROP_OLDEST);
+        reviewStream.publish(review("abc"));
+
+        //when
+        StepVerifier.create(reviewStream.subscribe())
+                .then(() -> reviewStream.publish(review("def")))
+                //then - nothing is replayed
+                .expectNextMatches(review -> review.getReviewId().equals("def"))
+                .thenCancel()
+                .verify();
+    }
+
+    private ReviewStream reviewStream(ReviewStreamProperties.OverflowStrategy overflowStrategy) {
+        var properties = new ReviewStreamProperties();
+        properties.setBufferSize(2);
+        properties.setOverflowStrategy(overflowStrategy);
+        return new ReviewStream(properties);
+    }
+
+    private void publish(ReviewStream reviewStream, String... reviewIds) {
+        for (var reviewId : reviewIds) {
+            reviewStream.publish(review(reviewId));
+        }
+    }
+
+    private Review review(String reviewId) {
+        return new Review(reviewId, 1L, "Awesome Movie", 9.0);
+    }
+}
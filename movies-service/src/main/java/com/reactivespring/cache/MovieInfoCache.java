@@ -0,0 +1,84 @@
+package com.reactivespring.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.reactivespring.client.ETagged;
+import com.reactivespring.client.MoviesInfoRestClient;
+import com.reactivespring.config.MoviesProperties;
+import com.reactivespring.domain.MovieInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * In-process cache in front of {@link MoviesInfoRestClient}. Caffeine bounds it by size with W-TinyLFU eviction,
+ * concurrent misses for the same id share one load and failed loads are not cached.
+ * Hits, misses, loads and evictions are published as the cache.* meters tagged with cache=movieInfo.
+ * Entries keep the ETag of the MovieInfo, a refresh is a conditional GET and a 304 keeps the cached MovieInfo.
+ */
+@Component
+public class MovieInfoCache {
+
+    public static final String CACHE_NAME = "movieInfo";
+
+    private final MoviesInfoRestClient moviesInfoRestClient;
+    private final AsyncLoadingCache<String, ETagged<MovieInfo>> cache;
+    private final boolean enabled;
+
+    public MovieInfoCache(MoviesInfoRestClient moviesInfoRestClient, MoviesProperties moviesProperties,
+                          MeterRegistry meterRegistry) {
+        var properties = moviesProperties.getMovieInfoCache();
+        this.moviesInfoRestClient = moviesInfoRestClient;
+        this.enabled = properties.isEnabled();
+
+        var builder = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats();
+        if (properties.getRefreshAfter() != null) {
+            builder.refreshAfterWrite(properties.getRefreshAfter());
+        }
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry,
+                builder.buildAsync(new AsyncCacheLoader<String, ETagged<MovieInfo>>() {
+                    @Override
+                    public CompletableFuture<ETagged<MovieInfo>> asyncLoad(String movieId, Executor executor) {
+                        return moviesInfoRestClient.retrieveMovieInfo(movieId, null).toFuture();
+                    }
+
+                    @Override
+                    public CompletableFuture<ETagged<MovieInfo>> asyncReload(String movieId,
+                                                                             ETagged<MovieInfo> oldValue,
+                                                                             Executor executor) {
+                        return moviesInfoRestClient.retrieveMovieInfo(movieId, oldValue).toFuture();
+                    }
+                }),
+                CACHE_NAME);
+    }
+
+    public Mono<MovieInfo> retrieveMovieInfo(String movieId) {
+        if (!enabled) {
+            return moviesInfoRestClient.retrieveMovieInfo(movieId);
+        }
+        // a copy, so a cancelled caller does not cancel the load other callers are waiting for
+        return Mono.fromFuture(() -> cache.get(movieId).copy())
+                .map(ETagged::getBody);
+    }
+
+    public void invalidate(String movieId) {
+        cache.synchronous().invalidate(movieId);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    void cleanUp() {
+        cache.synchronous().cleanUp();
+    }
+}
@@ -0,0 +1,16 @@
+package com.reactivespring.client;
+
+import lombok.Value;
+
+/**
+ * A downstream response together with its ETag, kept so the next request can be a conditional one.
+ */
+@Value
+public class ETagged<T> {
+
+    T body;
+    /**
+     * Null when the downstream did not send one, the response cannot be revalidated then.
+     */
+    String eTag;
+}
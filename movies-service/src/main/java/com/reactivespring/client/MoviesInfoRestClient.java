@@ -0,0 +1,89 @@
+package com.reactivespring.client;
+
+import com.reactivespring.config.RestClientProperties;
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.exception.MoviesInfoClientException;
+import com.reactivespring.exception.MoviesInfoServerException;
+import com.reactivespring.metrics.ReactiveTimer;
+import com.reactivespring.resilience.DownstreamResilience;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class MoviesInfoRestClient {
+
+    private static final String MOVIE_INFO_BY_ID = "movieInfoById";
+
+    private final WebClient webClient;
+    private final RestClientProperties.Downstream moviesInfo;
+    private final DownstreamResilience resilience;
+    private final ReactiveTimer requestTimer;
+    private final ReactiveTimer attemptTimer;
+
+    public MoviesInfoRestClient(@Qualifier("moviesInfoWebClient") WebClient webClient,
+                                RestClientProperties restClientProperties,
+                                CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.moviesInfo = restClientProperties.getMoviesInfo();
+        this.resilience = new DownstreamResilience("moviesInfo", moviesInfo, circuitBreakerRegistry, meterRegistry,
+                MoviesInfoClientException.class, MoviesInfoServerException.class);
+        this.requestTimer = ReactiveTimer.downstream(ReactiveTimer.DOWNSTREAM_REQUESTS, "moviesInfo", meterRegistry,
+                MoviesInfoClientException.class, MoviesInfoServerException.class);
+        this.attemptTimer = ReactiveTimer.downstream(ReactiveTimer.DOWNSTREAM_ATTEMPTS, "moviesInfo", meterRegistry,
+                MoviesInfoClientException.class, MoviesInfoServerException.class);
+    }
+
+    public Mono<MovieInfo> retrieveMovieInfo(String movieId) {
+        return retrieveMovieInfo(movieId, null).map(ETagged::getBody);
+    }
+
+    /**
+     * A conditional GET when cached carries an ETag, a 304 from movies-info-service answers the cached MovieInfo
+     * so an unchanged movie is not downloaded again.
+     */
+    public Mono<ETagged<MovieInfo>> retrieveMovieInfo(String movieId, ETagged<MovieInfo> cached) {
+        return requestTimer.time(MOVIE_INFO_BY_ID, resilience.decorate(attempt(movieId, cached)));
+    }
+
+    private Mono<ETagged<MovieInfo>> attempt(String movieId, ETagged<MovieInfo> cached) {
+        var revalidate = cached != null && cached.getETag() != null;
+        return attemptTimer.time(MOVIE_INFO_BY_ID, webClient.get()
+                .uri(moviesInfo.getUrl() + "/{id}", movieId)
+                .headers(headers -> {
+                    if (revalidate) {
+                        headers.setIfNoneMatch(cached.getETag());
+                    }
+                })
+                .retrieve()
+                .onStatus(HttpStatus::is4xxClientError, clientResponse -> {
+                    log.info("Status code is : {}", clientResponse.statusCode().value());
+                    if (clientResponse.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                        return Mono.error(new MoviesInfoClientException(
+                                "There is no MovieInfo Available for the passed in Id : " + movieId,
+                                clientResponse.statusCode().value()));
+                    }
+                    return clientResponse.bodyToMono(String.class)
+                            .flatMap(responseMessage -> Mono.error(new MoviesInfoClientException(
+                                    responseMessage, clientResponse.statusCode().value())));
+                })
+                .onStatus(HttpStatus::is5xxServerError, clientResponse -> {
+                    log.info("Status code is : {}", clientResponse.statusCode().value());
+                    return clientResponse.bodyToMono(String.class)
+                            .flatMap(responseMessage -> Mono.error(new MoviesInfoServerException(
+                                    "Server Exception in MoviesInfoService " + responseMessage)));
+                })
+                .toEntity(MovieInfo.class)
+                .flatMap(entity -> revalidate && entity.getStatusCode() == HttpStatus.NOT_MODIFIED
+                        ? Mono.just(cached)
+                        : Mono.justOrEmpty(entity.getBody())
+                        .map(movieInfo -> new ETagged<>(movieInfo, entity.getHeaders().getETag())))
+                .timeout(moviesInfo.getTimeout()));
+    }
+}
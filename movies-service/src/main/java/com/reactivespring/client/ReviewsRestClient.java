@@ -0,0 +1,167 @@
+package com.reactivespring.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reactivespring.config.MoviesProperties;
+import com.reactivespring.config.RestClientProperties;
+import com.reactivespring.domain.Review;
+import com.reactivespring.exception.ReviewsClientException;
+import com.reactivespring.exception.ReviewsServerException;
+import com.reactivespring.metrics.ReactiveTimer;
+import com.reactivespring.resilience.DownstreamResilience;
+import com.reactivespring.resilience.RequestHedger;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class ReviewsRestClient {
+
+    public static final String CACHE_NAME = "reviews";
+
+    private static final String REVIEWS_BY_MOVIE_ID = "reviewsByMovieId";
+
+    private final WebClient webClient;
+    private final RestClientProperties.Downstream reviews;
+    private final DownstreamResilience resilience;
+    private final RequestHedger requestHedger;
+    private final ReactiveTimer requestTimer;
+    private final ReactiveTimer attemptTimer;
+    /**
+     * Null when disabled, see {@link MoviesProperties.ReviewsCache}.
+     */
+    private final Cache<String, ETagged<List<Review>>> revalidationCache;
+    private final int maximumReviewsPerMovie;
+
+    public ReviewsRestClient(@Qualifier("reviewsWebClient") WebClient webClient,
+                             RestClientProperties restClientProperties, MoviesProperties moviesProperties,
+                             CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.reviews = restClientProperties.getReviews();
+        this.resilience = new DownstreamResilience("reviews", reviews, circuitBreakerRegistry, meterRegistry,
+                ReviewsClientException.class, ReviewsServerException.class);
+        this.requestHedger = new RequestHedger("reviews", reviews.getHedge());
+        this.requestTimer = ReactiveTimer.downstream(ReactiveTimer.DOWNSTREAM_REQUESTS, "reviews", meterRegistry,
+                ReviewsClientException.class, ReviewsServerException.class);
+        this.attemptTimer = ReactiveTimer.downstream(ReactiveTimer.DOWNSTREAM_ATTEMPTS, "reviews", meterRegistry,
+                ReviewsClientException.class, ReviewsServerException.class);
+
+        var cacheProperties = moviesProperties.getReviewsCache();
+        this.revalidationCache = cacheProperties.isEnabled()
+                ? CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                        .maximumWeight(cacheProperties.getMaximumReviews())
+                        .<String, ETagged<List<Review>>>weigher((movieId, reviews) -> Math.max(1,
+                                reviews.getBody().size()))
+                        .expireAfterWrite(cacheProperties.getTtl())
+                        .recordStats()
+                        .build(), CACHE_NAME)
+                : null;
+        this.maximumReviewsPerMovie = cacheProperties.getMaximumReviewsPerMovie();
+    }
+
+    /**
+     * A movie without reviews is answered with 404 by the reviews service, that is mapped to an empty Flux so the
+     * aggregate can still be built.
+     * The timeout applies between two reviews, a stream that keeps emitting is not cut in the middle.
+     * When hedging is enabled a slow attempt is raced against a second one, see {@link RequestHedger}.
+     * A 404 is still timed as a client error, the hedged attempt that loses the race is timed as cancelled.
+     * With the reviews cache enabled, the reviews of the last complete response that carried an ETag are kept, the
+     * next request for the movie sends that ETag in If-None-Match and a 304 is answered with the kept reviews.
+     */
+    public Flux<Review> retrieveReviews(String movieId) {
+        var url = UriComponentsBuilder.fromHttpUrl(reviews.getUrl())
+                .queryParam("movieInfoId", movieId)
+                .buildAndExpand()
+                .toUriString();
+
+        return requestTimer.time(REVIEWS_BY_MOVIE_ID,
+                        resilience.decorate(requestHedger.hedge(HttpMethod.GET, () -> attempt(url, movieId))))
+                .onErrorResume(ReviewsRestClient::isNotFound, ex -> Flux.empty());
+    }
+
+    private Flux<Review> attempt(String url, String movieId) {
+        var cached = revalidationCache == null ? null : revalidationCache.getIfPresent(movieId);
+        return attemptTimer.time(REVIEWS_BY_MOVIE_ID, webClient.get()
+                .uri(url)
+                .headers(headers -> {
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.getETag());
+                    }
+                })
+                .retrieve()
+                .onStatus(HttpStatus::is4xxClientError, clientResponse -> {
+                    log.info("Status code is : {}", clientResponse.statusCode().value());
+                    if (clientResponse.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                        return clientResponse.releaseBody()
+                                .then(Mono.error(new ReviewsClientException(
+                                        "There are no Reviews Available for the passed in Id : " + movieId,
+                                        clientResponse.statusCode().value())));
+                    }
+                    return clientResponse.bodyToMono(String.class)
+                            .flatMap(responseMessage -> Mono.error(new ReviewsClientException(
+                                    responseMessage, clientResponse.statusCode().value())));
+                })
+                .onStatus(HttpStatus::is5xxServerError, clientResponse -> {
+                    log.info("Status code is : {}", clientResponse.statusCode().value());
+                    return clientResponse.bodyToMono(String.class)
+                            .flatMap(responseMessage -> Mono.error(new ReviewsServerException(
+                                    "Server Exception in ReviewsService " + responseMessage)));
+                })
+                .toEntityFlux(Review.class)
+                .flatMapMany(entity -> cached != null && entity.getStatusCode() == HttpStatus.NOT_MODIFIED
+                        ? Flux.fromIterable(cached.getBody())
+                        : remember(movieId, entity.getHeaders().getETag(), entity.getBody()))
+                .timeout(reviews.getTimeout()));
+    }
+
+    /**
+     * Only a body read to the end is kept, a response cut short by the latency budget would hide reviews later.
+     * The reviews are passed on as they arrive, at most maximumReviewsPerMovie of them are copied aside; past that
+     * the copy is dropped and the movie is not cached, so a large response is never held in memory.
+     */
+    private Flux<Review> remember(String movieId, String eTag, Flux<Review> body) {
+        if (revalidationCache == null || eTag == null || body == null) {
+            return body == null ? Flux.empty() : body;
+        }
+        var received = new ArrayList<Review>();
+        var overflowed = new AtomicBoolean();
+        return body.doOnNext(review -> {
+                    if (overflowed.get()) {
+                        return;
+                    }
+                    if (received.size() == maximumReviewsPerMovie) {
+                        overflowed.set(true);
+                        received.clear();
+                        received.trimToSize();
+                        return;
+                    }
+                    received.add(review);
+                })
+                .doOnComplete(() -> {
+                    if (overflowed.get()) {
+                        revalidationCache.invalidate(movieId);
+                    } else {
+                        revalidationCache.put(movieId, new ETagged<>(List.copyOf(received), eTag));
+                    }
+                });
+    }
+
+    private static boolean isNotFound(Throwable ex) {
+        return ex instanceof ReviewsClientException
+                && Integer.valueOf(HttpStatus.NOT_FOUND.value()).equals(((ReviewsClientException) ex).getStatusCode());
+    }
+}
@@ -0,0 +1,74 @@
+package com.reactivespring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "movies")
+public class MoviesProperties {
+
+    private Batch batch = new Batch();
+    private Cache movieInfoCache = new Cache();
+    private ReviewsCache reviewsCache = new ReviewsCache();
+    private LatencyBudget latencyBudget = new LatencyBudget();
+
+    @Data
+    public static class Batch {
+        /**
+         * How many movies of one batch are aggregated at the same time.
+         */
+        private int concurrency = 16;
+        private int maxSize = 200;
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        /**
+         * An entry older than this is evicted and the next lookup waits for movies-info-service again.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+        /**
+         * Stale-while-revalidate: an entry older than this is still served while it is reloaded in the background.
+         * Leave it empty to disable background refreshes.
+         */
+        private Duration refreshAfter = Duration.ofMinutes(1);
+    }
+
+    /**
+     * The last reviews received for a movie together with their ETag. They are never served without asking the
+     * reviews service, they only let it answer 304 instead of sending the same reviews again.
+     * Off by default: keeping them means holding on to a copy of every streamed response.
+     */
+    @Data
+    public static class ReviewsCache {
+        private boolean enabled = false;
+        /**
+         * Bounds the number of reviews kept over all movies.
+         */
+        private long maximumReviews = 100_000;
+        /**
+         * A movie with more reviews than this is not cached, its reviews are only streamed through.
+         */
+        private int maximumReviewsPerMovie = 200;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    /**
+     * A request can pass its own budget in the X-Latency-Budget-Ms header, the default budget applies otherwise.
+     * Shares are fractions of the budget left when the downstream call starts. MovieInfo is required to build a
+     * Movie, running out of its share fails the request, while the reviews received so far are returned when the
+     * reviews share runs out. A header outside [minBudget, maxBudget] is answered with a 400.
+     */
+    @Data
+    public static class LatencyBudget {
+        private Duration defaultBudget;
+        private Duration minBudget = Duration.ofMillis(10);
+        private Duration maxBudget = Duration.ofSeconds(30);
+        private double movieInfoShare = 1.0;
+        private double reviewsShare = 0.8;
+    }
+}
@@ -0,0 +1,112 @@
+package com.reactivespring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "rest-client")
+public class RestClientProperties {
+
+    private Downstream moviesInfo = new Downstream();
+    private Downstream reviews = new Downstream();
+
+    /**
+     * Settings of a single downstream hop, the timeout bounds only that hop so a slow service does not eat the
+     * budget of the other one.
+     */
+    @Data
+    public static class Downstream {
+        private String url;
+        private Duration timeout = Duration.ofSeconds(2);
+        private Retry retry = new Retry();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private Hedge hedge = new Hedge();
+        private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+        private ConnectionPool connectionPool = new ConnectionPool();
+    }
+
+    /**
+     * Only server errors and failed connections are retried, the backoff grows exponentially from minBackoff up
+     * to maxBackoff and each delay is randomized by the jitter factor.
+     */
+    @Data
+    public static class Retry {
+        private long maxRetries = 2;
+        private Duration minBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(1);
+        private double jitter = 0.5;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        /**
+         * Probe calls let through once the open state is over, the breaker closes again when they succeed.
+         */
+        private int permittedNumberOfCallsInHalfOpenState = 3;
+    }
+
+    @Data
+    public static class Hedge {
+        private boolean enabled = false;
+        /**
+         * Percentile of the recent latencies after which a second request is sent.
+         */
+        private double percentile = 95;
+        /**
+         * Delay used until enough latencies have been recorded.
+         */
+        private Duration initialDelay = Duration.ofMillis(200);
+        private Duration minDelay = Duration.ofMillis(10);
+        /**
+         * Upper bound of the extra load added by hedging, as a percentage of the requests.
+         */
+        private double budgetPercent = 10;
+        private int windowSize = 256;
+    }
+
+    @Data
+    public static class ConcurrencyLimit {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        /**
+         * A call slower than this counts as a drop and lowers the limit.
+         */
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+        private int maxQueueSize = 50;
+        private Duration maxQueueWait = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class ConnectionPool {
+        private int maxConnections = 100;
+        /**
+         * Requests waiting for a connection once all of them are in use, -1 means no bound.
+         */
+        private int pendingAcquireMaxCount = 200;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        /**
+         * Interval of the background eviction of idle and expired connections, zero turns it off.
+         */
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private boolean keepAlive = true;
+        /**
+         * Multiplexes the requests over h2c connections, the downstream service needs server.http2.enabled.
+         */
+        private boolean http2 = false;
+        /**
+         * Exports the reactor.netty.connection.provider gauges: total, active, idle and pending connections.
+         */
+        private boolean metrics = true;
+    }
+}
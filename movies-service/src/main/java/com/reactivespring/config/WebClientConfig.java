@@ -0,0 +1,74 @@
+package com.reactivespring.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Every downstream service gets its own connection pool, so a slow service that holds on to its connections does
+ * not starve the calls to the other one.
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider moviesInfoConnectionProvider(RestClientProperties restClientProperties) {
+        return connectionProvider("moviesInfo", restClientProperties.getMoviesInfo().getConnectionPool());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider reviewsConnectionProvider(RestClientProperties restClientProperties) {
+        return connectionProvider("reviews", restClientProperties.getReviews().getConnectionPool());
+    }
+
+    @Bean
+    public WebClient moviesInfoWebClient(WebClient.Builder builder, RestClientProperties restClientProperties,
+                                         @Qualifier("moviesInfoConnectionProvider")
+                                         ConnectionProvider connectionProvider) {
+        return webClient(builder, connectionProvider, restClientProperties.getMoviesInfo().getConnectionPool());
+    }
+
+    @Bean
+    public WebClient reviewsWebClient(WebClient.Builder builder, RestClientProperties restClientProperties,
+                                      @Qualifier("reviewsConnectionProvider")
+                                      ConnectionProvider connectionProvider) {
+        return webClient(builder, connectionProvider, restClientProperties.getReviews().getConnectionPool());
+    }
+
+    /**
+     * Idle and old connections are closed in the background instead of on acquire, so a request does not pay for
+     * finding out that a pooled connection is stale.
+     */
+    private static ConnectionProvider connectionProvider(String name, RestClientProperties.ConnectionPool pool) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(pool.isMetrics())
+                .build();
+    }
+
+    /**
+     * With http2 enabled the first request on a connection asks for an h2c upgrade, a downstream service that only
+     * speaks HTTP/1.1 keeps working.
+     */
+    private static WebClient webClient(WebClient.Builder builder, ConnectionProvider connectionProvider,
+                                       RestClientProperties.ConnectionPool pool) {
+        var httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(pool.isKeepAlive())
+                .option(ChannelOption.SO_KEEPALIVE, pool.isKeepAlive())
+                .protocol(pool.isHttp2()
+                        ? new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2C}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11});
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+}
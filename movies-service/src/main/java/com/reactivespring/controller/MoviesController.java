@@ -0,0 +1,106 @@
+package com.reactivespring.controller;
+
+import com.reactivespring.config.MoviesProperties;
+import com.reactivespring.domain.Movie;
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.service.LatencyBudget;
+import com.reactivespring.service.MoviesService;
+import com.reactivespring.util.ETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/movies")
+@RequiredArgsConstructor
+public class MoviesController {
+
+    public static final String LATENCY_BUDGET_HEADER = "X-Latency-Budget-Ms";
+
+    private final MoviesService moviesService;
+    private final MoviesProperties moviesProperties;
+
+    /**
+     * A complete movie is answered with an ETag of its content, a request whose If-None-Match matches it gets a 304
+     * without a body. A degraded movie has no ETag, it is only part of the reviews.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Movie>> retrieveMovieById(
+            @PathVariable("id") String movieId,
+            @RequestHeader(value = LATENCY_BUDGET_HEADER, required = false) Long budgetMs) {
+        return Mono.defer(() -> moviesService.retrieveMovieById(movieId, latencyBudget(budgetMs)))
+                .map(movie -> movie.isDegraded()
+                        ? ResponseEntity.ok(movie)
+                        : ResponseEntity.ok().eTag(eTag(movie)).body(movie));
+    }
+
+    /**
+     * The first line is the MovieInfo, every following line is a Review.
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamMovieById(@PathVariable("id") String movieId) {
+        return moviesService.streamMovieById(movieId);
+    }
+
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamMovieEventsById(@PathVariable("id") String movieId) {
+        return moviesService.streamMovieById(movieId)
+                .map(element -> ServerSentEvent.builder(element)
+                        .event(element instanceof MovieInfo ? "movieInfo" : "review")
+                        .build());
+    }
+
+    @GetMapping(params = "ids")
+    public Flux<Movie> retrieveMoviesByIds(@RequestParam("ids") List<String> movieIds,
+                                           @RequestHeader(value = LATENCY_BUDGET_HEADER, required = false) Long budgetMs) {
+        var maxSize = moviesProperties.getBatch().getMaxSize();
+        if (movieIds.size() > maxSize) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch accepts at most " + maxSize + " ids"));
+        }
+        return Flux.defer(() -> moviesService.retrieveMoviesByIds(movieIds, latencyBudget(budgetMs)));
+    }
+
+    private LatencyBudget latencyBudget(Long budgetMs) {
+        var budgetProperties = moviesProperties.getLatencyBudget();
+        if (budgetMs == null) {
+            return LatencyBudget.of(budgetProperties.getDefaultBudget());
+        }
+        var minMs = budgetProperties.getMinBudget().toMillis();
+        var maxMs = budgetProperties.getMaxBudget().toMillis();
+        if (budgetMs < minMs || budgetMs > maxMs) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    LATENCY_BUDGET_HEADER + " must be between " + minMs + " and " + maxMs);
+        }
+        return LatencyBudget.of(Duration.ofMillis(budgetMs));
+    }
+
+    private static String eTag(Movie movie) {
+        var movieInfo = movie.getMovieInfo();
+        var eTag = ETags.builder()
+                .add(movieInfo.getMovieInfoId())
+                .add(movieInfo.getName())
+                .add(movieInfo.getYear())
+                .add(movieInfo.getCast())
+                .add(movieInfo.getRelease_date());
+        movie.getReviewList().forEach(review -> eTag.add(review.getReviewId())
+                .add(review.getMovieInfoId())
+                .add(review.getComment())
+                .add(review.getRating()));
+        return eTag.build();
+    }
+}
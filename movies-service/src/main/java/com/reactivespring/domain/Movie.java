@@ -14,4 +14,12 @@ public class Movie {
 
     private MovieInfo movieInfo;
     private List<Review> reviewList;
+    /**
+     * The latency budget ran out before every review was received, reviewList only holds part of them.
+     */
+    private boolean degraded;
+
+    public Movie(MovieInfo movieInfo, List<Review> reviewList) {
+        this(movieInfo, reviewList, false);
+    }
 }
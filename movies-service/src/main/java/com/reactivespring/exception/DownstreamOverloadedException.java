@@ -0,0 +1,10 @@
+package com.reactivespring.exception;
+
+public class DownstreamOverloadedException extends RuntimeException{
+    private String message;
+
+    public DownstreamOverloadedException(String message) {
+        super(message);
+        this.message = message;
+    }
+}
@@ -0,0 +1,102 @@
+package com.reactivespring.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Records how long a Mono or Flux takes from subscription until it terminates or is cancelled.
+ * Every timing is tagged by endpoint, outcome and the simple name of the exception, percentiles and histograms are
+ * configured with the management.metrics.distribution properties.
+ */
+public class ReactiveTimer {
+
+    /**
+     * A logical downstream call, including the wait for a concurrency slot, retries and hedged attempts.
+     */
+    public static final String DOWNSTREAM_REQUESTS = "movies.downstream.requests";
+    /**
+     * A single HTTP exchange with the downstream service, this is what the client timeouts should be tuned on.
+     */
+    public static final String DOWNSTREAM_ATTEMPTS = "movies.downstream.attempts";
+    /**
+     * Building the Movie aggregate, the gap to http.server.requests is the time spent in the controller and codecs.
+     */
+    public static final String AGGREGATION = "movies.aggregation";
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String CLIENT_ERROR = "CLIENT_ERROR";
+    public static final String SERVER_ERROR = "SERVER_ERROR";
+    public static final String TIMEOUT = "TIMEOUT";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final String NO_EXCEPTION = "None";
+
+    private final String name;
+    private final MeterRegistry meterRegistry;
+    private final Tags tags;
+    private final Predicate<Throwable> isClientError;
+    private final Predicate<Throwable> isServerError;
+
+    public ReactiveTimer(String name, MeterRegistry meterRegistry, Tags tags,
+                         Predicate<Throwable> isClientError, Predicate<Throwable> isServerError) {
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+        this.isClientError = isClientError;
+        this.isServerError = isServerError;
+    }
+
+    public static ReactiveTimer downstream(String name, String downstream, MeterRegistry meterRegistry,
+                                           Class<? extends Throwable> clientExceptionType,
+                                           Class<? extends Throwable> serverExceptionType) {
+        return new ReactiveTimer(name, meterRegistry, Tags.of("downstream", downstream),
+                clientExceptionType::isInstance, serverExceptionType::isInstance);
+    }
+
+    public <T> Mono<T> time(String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            var sample = Timer.start(meterRegistry);
+            return call.doOnSuccess(value -> stop(sample, endpoint, SUCCESS, NO_EXCEPTION))
+                    .doOnError(ex -> stop(sample, endpoint, outcome(ex), ex.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, endpoint, CANCELLED, NO_EXCEPTION));
+        });
+    }
+
+    public <T> Flux<T> time(String endpoint, Flux<T> call) {
+        return Flux.defer(() -> {
+            var sample = Timer.start(meterRegistry);
+            return call.doOnComplete(() -> stop(sample, endpoint, SUCCESS, NO_EXCEPTION))
+                    .doOnError(ex -> stop(sample, endpoint, outcome(ex), ex.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, endpoint, CANCELLED, NO_EXCEPTION));
+        });
+    }
+
+    private String outcome(Throwable ex) {
+        if (isClientError.test(ex)) {
+            return CLIENT_ERROR;
+        }
+        if (isServerError.test(ex)) {
+            return SERVER_ERROR;
+        }
+        if (ex instanceof TimeoutException) {
+            return TIMEOUT;
+        }
+        return UNKNOWN;
+    }
+
+    private void stop(Timer.Sample sample, String endpoint, String outcome, String exception) {
+        sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry));
+    }
+}
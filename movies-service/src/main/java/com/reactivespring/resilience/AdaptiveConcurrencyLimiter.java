@@ -0,0 +1,169 @@
+package com.reactivespring.resilience;
+
+import com.reactivespring.config.RestClientProperties;
+import com.reactivespring.exception.DownstreamOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Limits the concurrent calls to one downstream service with a limit learnt by AIMD: every sample that used at least
+ * half of the limit adds one to it, a dropped call or a latency above latencyThreshold multiplies it by backoffRatio.
+ * <p>
+ * Calls above the limit wait in a bounded queue for up to maxQueueWait, they are rejected with
+ * {@link DownstreamOverloadedException} when the queue is full or the wait is over.
+ * The limit, the calls in flight and the queue depth are published as downstream.concurrency.* gauges.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final RestClientProperties.ConcurrencyLimit properties;
+    private final Predicate<Throwable> isDrop;
+    private final Counter rejected;
+
+    private final Deque<MonoSink<Permit>> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(String name, RestClientProperties.ConcurrencyLimit properties,
+                                      Predicate<Throwable> isDrop, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.properties = properties;
+        this.isDrop = isDrop;
+        this.limit = properties.getInitialLimit();
+
+        Gauge.builder("downstream.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("downstream", name)
+                .register(meterRegistry);
+        Gauge.builder("downstream.concurrency.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("downstream", name)
+                .register(meterRegistry);
+        Gauge.builder("downstream.concurrency.queue.depth", this, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .tag("downstream", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("downstream.concurrency.rejected")
+                .tag("downstream", name)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> limit(Mono<T> call) {
+        return limit(call.flux()).singleOrEmpty();
+    }
+
+    /**
+     * The permit is released and the latency sampled at the first signal, that is when the downstream has answered,
+     * like {@link RequestHedger} times it. The rest of a streamed response is paced by whoever consumes it, a slow
+     * client of a stream must neither hold a slot nor shrink the limit. A call cancelled before its first signal
+     * gives no latency sample.
+     */
+    public <T> Flux<T> limit(Flux<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Flux.usingWhen(acquire(),
+                permit -> call.doOnEach(signal -> {
+                    if (signal.isOnError()) {
+                        release(permit, isDrop.test(signal.getThrowable()), true);
+                    } else if (signal.isOnNext() || signal.isOnComplete()) {
+                        release(permit, false, true);
+                    }
+                }),
+                permit -> Mono.fromRunnable(() -> release(permit, false, false)));
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return waiters.size();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.<Permit>create(sink -> {
+                    Permit permit = null;
+                    synchronized (this) {
+                        if (inFlight < (int) limit) {
+                            inFlight++;
+                            permit = new Permit(inFlight);
+                        } else if (waiters.size() < properties.getMaxQueueSize()) {
+                            waiters.addLast(sink);
+                            sink.onCancel(() -> removeWaiter(sink));
+                            return;
+                        }
+                    }
+                    if (permit != null) {
+                        sink.success(permit);
+                    } else {
+                        rejected.increment();
+                        sink.error(new DownstreamOverloadedException(
+                                "Concurrency limit reached for " + name + " : " + (int) getLimit()));
+                    }
+                })
+                .timeout(properties.getMaxQueueWait())
+                .doOnDiscard(Permit.class, permit -> release(permit, false, false))
+                .onErrorMap(TimeoutException.class, ex -> {
+                    rejected.increment();
+                    return new DownstreamOverloadedException(
+                            "Timed out waiting for a " + name + " call slot after " + properties.getMaxQueueWait());
+                });
+    }
+
+    private synchronized void removeWaiter(MonoSink<Permit> sink) {
+        waiters.remove(sink);
+    }
+
+    private void release(Permit permit, boolean dropped, boolean sample) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        var latencyNanos = System.nanoTime() - permit.startNanos;
+        List<MonoSink<Permit>> granted = new ArrayList<>();
+        List<Permit> permits = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            if (sample) {
+                if (dropped || latencyNanos > properties.getLatencyThreshold().toNanos()) {
+                    limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+                } else if (permit.inFlightAtStart * 2 >= limit) {
+                    limit = Math.min(properties.getMaxLimit(), limit + 1);
+                }
+            }
+            while (!waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                granted.add(waiters.pollFirst());
+                permits.add(new Permit(inFlight));
+            }
+        }
+        for (int i = 0; i < granted.size(); i++) {
+            granted.get(i).success(permits.get(i));
+        }
+    }
+
+    private static final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reactivespring.resilience;
+
+import com.reactivespring.config.RestClientProperties;
+import com.reactivespring.exception.DownstreamOverloadedException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Retry, circuit breaker and concurrency limit of one downstream service.
+ * Every attempt goes through the circuit breaker, so once it is open the retries fail fast with
+ * {@link CallNotPermittedException} instead of piling up on a struggling service, and then through the
+ * {@link AdaptiveConcurrencyLimiter}.
+ * Client errors are neither retried nor counted as failures by the breaker, neither are calls rejected by the limiter.
+ */
+@Slf4j
+public class DownstreamResilience {
+
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBackoffSpec retry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public DownstreamResilience(String name, RestClientProperties.Downstream downstream,
+                                CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry,
+                                Class<? extends Throwable> clientExceptionType,
+                                Class<? extends Throwable> serverExceptionType) {
+        var breakerProperties = downstream.getCircuitBreaker();
+        var breakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(breakerProperties.getFailureRateThreshold())
+                .slidingWindowSize(breakerProperties.getSlidingWindowSize())
+                .minimumNumberOfCalls(breakerProperties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breakerProperties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breakerProperties.getPermittedNumberOfCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .ignoreExceptions(clientExceptionType, DownstreamOverloadedException.class)
+                .build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, breakerConfig);
+
+        var retryProperties = downstream.getRetry();
+        this.retry = Retry.backoff(retryProperties.getMaxRetries(), retryProperties.getMinBackoff())
+                .maxBackoff(retryProperties.getMaxBackoff())
+                .jitter(retryProperties.getJitter())
+                .filter(ex -> serverExceptionType.isInstance(ex) || ex instanceof WebClientRequestException)
+                .doBeforeRetry(retrySignal -> log.info("Retrying {} , attempt : {}", name, retrySignal.totalRetries() + 1))
+                .onRetryExhaustedThrow((retrySpec, retrySignal) -> retrySignal.failure());
+
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(name, downstream.getConcurrencyLimit(),
+                ex -> serverExceptionType.isInstance(ex) || ex instanceof TimeoutException
+                        || ex instanceof WebClientRequestException,
+                meterRegistry);
+    }
+
+    public <T> Mono<T> decorate(Mono<T> call) {
+        return concurrencyLimiter.limit(call)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .retryWhen(retry);
+    }
+
+    public <T> Flux<T> decorate(Flux<T> call) {
+        return concurrencyLimiter.limit(call)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .retryWhen(retry);
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+}
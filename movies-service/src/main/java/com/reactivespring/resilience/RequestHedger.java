@@ -0,0 +1,114 @@
+package com.reactivespring.resilience;
+
+import com.reactivespring.config.RestClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second identical request when the first one has not answered within a percentile of the recent latencies
+ * of the downstream. Whichever answers first wins and the other one is cancelled.
+ * <p>
+ * Hedges are paid from a token bucket: every request adds budgetPercent / 100 of a token and a hedge costs a whole
+ * one, so hedging never adds more than budgetPercent of extra load. Only safe, idempotent methods are hedged.
+ */
+@Slf4j
+public class RequestHedger {
+
+    private static final Set<HttpMethod> HEDGEABLE_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD);
+    private static final int MIN_SAMPLES = 20;
+    private static final long TOKEN = 1_000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final String name;
+    private final RestClientProperties.Hedge hedge;
+    private final LatencyWindow latencyWindow;
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicLong hedgedRequests = new AtomicLong();
+
+    public RequestHedger(String name, RestClientProperties.Hedge hedge) {
+        this.name = name;
+        this.hedge = hedge;
+        this.latencyWindow = new LatencyWindow(hedge.getWindowSize());
+    }
+
+    public <T> Flux<T> hedge(HttpMethod method, Supplier<Flux<T>> call) {
+        if (!hedge.isEnabled() || !HEDGEABLE_METHODS.contains(method)) {
+            return Flux.defer(call);
+        }
+        return Flux.defer(() -> {
+            depositToken();
+            var hedgedCall = Mono.delay(hedgeDelay())
+                    .flatMapMany(tick -> {
+                        if (!withdrawToken()) {
+                            return Flux.never();
+                        }
+                        hedgedRequests.incrementAndGet();
+                        log.debug("Hedging {} request", name);
+                        return timed(call);
+                    });
+            return Flux.firstWithSignal(timed(call), hedgedCall);
+        });
+    }
+
+    public Duration hedgeDelay() {
+        if (latencyWindow.count() < MIN_SAMPLES) {
+            return hedge.getInitialDelay();
+        }
+        var delay = latencyWindow.percentile(hedge.getPercentile());
+        return delay.compareTo(hedge.getMinDelay()) < 0 ? hedge.getMinDelay() : delay;
+    }
+
+    public long hedgedRequests() {
+        return hedgedRequests.get();
+    }
+
+    /**
+     * Records the time until the first signal, that is when the downstream has answered. A call cancelled before
+     * that, the loser of the race, records the time it had been waiting as a lower bound of its latency. Recording
+     * only the winners would leave the slow answers out of the window and pull the percentile down.
+     */
+    private <T> Flux<T> timed(Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            var start = System.nanoTime();
+            var recorded = new AtomicBoolean();
+            Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    latencyWindow.record(Duration.ofNanos(System.nanoTime() - start));
+                }
+            };
+            return call.get()
+                    .doOnEach(signal -> {
+                        if (!signal.isOnError()) {
+                            record.run();
+                        }
+                    })
+                    .doOnCancel(record);
+        });
+    }
+
+    private void depositToken() {
+        var deposit = (long) (hedge.getBudgetPercent() / 100 * TOKEN);
+        tokens.accumulateAndGet(deposit, (current, added) -> Math.min(MAX_TOKENS, current + added));
+    }
+
+    private boolean withdrawToken() {
+        while (true) {
+            var current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
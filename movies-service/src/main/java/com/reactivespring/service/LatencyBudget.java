@@ -0,0 +1,45 @@
+package com.reactivespring.service;
+
+import java.time.Duration;
+
+/**
+ * End-to-end latency budget of one request. Each downstream call gets a share of what is left of it when the call
+ * starts, so calls made later in the request get less time.
+ */
+public final class LatencyBudget {
+
+    private static final LatencyBudget UNLIMITED = new LatencyBudget(Long.MAX_VALUE);
+
+    private final long deadlineNanos;
+
+    private LatencyBudget(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static LatencyBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * @param budget the budget starting now, null means unlimited
+     */
+    public static LatencyBudget of(Duration budget) {
+        return budget == null ? UNLIMITED : new LatencyBudget(System.nanoTime() + budget.toNanos());
+    }
+
+    public boolean isUnlimited() {
+        return this == UNLIMITED;
+    }
+
+    public Duration remaining() {
+        return isUnlimited() ? null : Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * @param fraction between 0 and 1
+     * @return the given fraction of the remaining budget, or null when the budget is unlimited
+     */
+    public Duration share(double fraction) {
+        return isUnlimited() ? null : Duration.ofNanos((long) (remaining().toNanos() * fraction));
+    }
+}
@@ -0,0 +1,136 @@
+package com.reactivespring.service;
+
+import com.reactivespring.cache.MovieInfoCache;
+import com.reactivespring.client.ReviewsRestClient;
+import com.reactivespring.config.MoviesProperties;
+import com.reactivespring.domain.Movie;
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.domain.Review;
+import com.reactivespring.exception.MoviesInfoClientException;
+import com.reactivespring.exception.MoviesInfoServerException;
+import com.reactivespring.exception.ReviewsClientException;
+import com.reactivespring.exception.ReviewsServerException;
+import com.reactivespring.metrics.ReactiveTimer;
+import com.reactivespring.util.InFlightRequestCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class MoviesService {
+
+    public static final String DEGRADED_RESPONSES = "movies.degraded.responses";
+
+    private final MovieInfoCache movieInfoCache;
+    private final ReviewsRestClient reviewsRestClient;
+    private final MoviesProperties moviesProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final InFlightRequestCoalescer<String, MovieInfo> movieInfoLookups = new InFlightRequestCoalescer<>();
+    private final InFlightRequestCoalescer<String, Review> reviewsLookups = new InFlightRequestCoalescer<>();
+    private final ReactiveTimer aggregationTimer;
+
+    public MoviesService(MovieInfoCache movieInfoCache, ReviewsRestClient reviewsRestClient,
+                         MoviesProperties moviesProperties, MeterRegistry meterRegistry) {
+        this.movieInfoCache = movieInfoCache;
+        this.reviewsRestClient = reviewsRestClient;
+        this.moviesProperties = moviesProperties;
+        this.meterRegistry = meterRegistry;
+        this.aggregationTimer = new ReactiveTimer(ReactiveTimer.AGGREGATION, meterRegistry, Tags.empty(),
+                ex -> ex instanceof MoviesInfoClientException || ex instanceof ReviewsClientException,
+                ex -> ex instanceof MoviesInfoServerException || ex instanceof ReviewsServerException);
+    }
+
+    public Mono<Movie> retrieveMovieById(String movieId) {
+        return retrieveMovieById(movieId, LatencyBudget.unlimited());
+    }
+
+    /**
+     * zip subscribes to both downstream calls at once, so the latency of the aggregate is the slowest hop instead of
+     * the sum of both. An error in either hop cancels the other one.
+     * Concurrent requests for the same movie share the same downstream calls and the MovieInfo is served from
+     * {@link MovieInfoCache} when present.
+     * Once the reviews share of the latency budget runs out the movie is returned with the reviews received so far
+     * and flagged as degraded.
+     */
+    public Mono<Movie> retrieveMovieById(String movieId, LatencyBudget latencyBudget) {
+        var budgetProperties = moviesProperties.getLatencyBudget();
+
+        return aggregationTimer.time("movieById", Mono.defer(() -> Mono.zip(
+                        withinBudget(movieInfoLookups.coalesce(movieId, movieInfoCache::retrieveMovieInfo),
+                                latencyBudget.share(budgetProperties.getMovieInfoShare())),
+                        reviewsWithinBudget(movieId, latencyBudget.share(budgetProperties.getReviewsShare())),
+                        (movieInfo, reviews) -> new Movie(movieInfo, reviews.getT1(), reviews.getT2())))
+                .doOnNext(movie -> {
+                    if (movie.isDegraded()) {
+                        log.info("Degraded response for movie : {}", movieId);
+                        meterRegistry.counter(DEGRADED_RESPONSES).increment();
+                    }
+                }));
+    }
+
+    /**
+     * Streams the MovieInfo first and then every review as soon as it is decoded, nothing is collected in memory.
+     * Both calls start at once, mergeSequential only holds back the reviews until the MovieInfo has been emitted and
+     * the demand of the caller is passed on to the reviews call.
+     */
+    public Flux<Object> streamMovieById(String movieId) {
+        return aggregationTimer.time("streamMovieById", Flux.mergeSequential(
+                movieInfoLookups.coalesce(movieId, movieInfoCache::retrieveMovieInfo),
+                reviewsRestClient.retrieveReviews(movieId)));
+    }
+
+    public Flux<Movie> retrieveMoviesByIds(Collection<String> movieIds) {
+        return retrieveMoviesByIds(movieIds, LatencyBudget.unlimited());
+    }
+
+    /**
+     * Aggregates the movies in the order of the passed in ids, duplicated ids are fetched once and movies without
+     * a MovieInfo are left out of the batch. The latency budget is shared by the whole batch, a movie whose reviews
+     * share runs out is degraded like a single movie. A MovieInfo that does not arrive in time, within its share or
+     * its client timeout, fails the batch like it fails a single movie.
+     */
+    public Flux<Movie> retrieveMoviesByIds(Collection<String> movieIds, LatencyBudget latencyBudget) {
+        return aggregationTimer.time("moviesByIds", Flux.fromIterable(new LinkedHashSet<>(movieIds))
+                .flatMapSequential(movieId -> retrieveMovieById(movieId, latencyBudget)
+                                .onErrorResume(MoviesService::isMovieInfoNotFound, ex -> Mono.empty()),
+                        moviesProperties.getBatch().getConcurrency()));
+    }
+
+    private Mono<MovieInfo> withinBudget(Mono<MovieInfo> movieInfo, Duration share) {
+        return share == null ? movieInfo : movieInfo.timeout(share);
+    }
+
+    /**
+     * @return the reviews received within the share and whether the share ran out before all of them arrived
+     */
+    private Mono<Tuple2<List<Review>, Boolean>> reviewsWithinBudget(String movieId, Duration share) {
+        var reviews = reviewsLookups.coalesceMany(movieId, reviewsRestClient::retrieveReviews);
+        if (share == null) {
+            return reviews.collectList().map(reviewList -> Tuples.of(reviewList, false));
+        }
+        var completed = new AtomicBoolean();
+        return reviews.doOnComplete(() -> completed.set(true))
+                .take(share)
+                .collectList()
+                .map(reviewList -> Tuples.of(reviewList, !completed.get()));
+    }
+
+    private static boolean isMovieInfoNotFound(Throwable ex) {
+        return ex instanceof MoviesInfoClientException
+                && Integer.valueOf(HttpStatus.NOT_FOUND.value()).equals(((MoviesInfoClientException) ex).getStatusCode());
+    }
+}
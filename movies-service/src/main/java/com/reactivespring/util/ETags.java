@@ -0,0 +1,63 @@
+package com.reactivespring.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Strong ETags made of a SHA-256 digest of the parts of a representation.
+ * Every part is written with its length, so {@code ("ab", "c")} and {@code ("a", "bc")} give different tags,
+ * collections are written element by element.
+ */
+public final class ETags {
+
+    private static final int TAG_BYTES = 16;
+
+    private ETags() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final MessageDigest digest;
+
+        private Builder() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+        }
+
+        public Builder add(Object part) {
+            if (part == null) {
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            } else if (part instanceof Collection) {
+                var elements = (Collection<?>) part;
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(elements.size()).array());
+                elements.forEach(this::add);
+            } else {
+                var bytes = part.toString().getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+            return this;
+        }
+
+        /**
+         * @return the quoted tag, ready for the ETag header
+         */
+        public String build() {
+            var tag = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(digest.digest(), TAG_BYTES));
+            return "\"" + tag + "\"";
+        }
+    }
+}
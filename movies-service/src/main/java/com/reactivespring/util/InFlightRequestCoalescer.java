@@ -0,0 +1,42 @@
+package com.reactivespring.util;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Shares a single in-flight lookup between every caller asking for the same key at the same time.
+ * A caller joining late gets the elements emitted so far replayed, so each caller can still stop at its own pace.
+ * The entry only lives while the lookup is running, nothing is cached once it terminates, errors included.
+ * The lookup is cancelled only when every caller sharing it has cancelled.
+ */
+public class InFlightRequestCoalescer<K, V> {
+
+    private final Map<K, Flux<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> coalesce(K key, Function<K, Mono<V>> loader) {
+        return coalesceMany(key, k -> loader.apply(k).flux()).singleOrEmpty();
+    }
+
+    public Flux<V> coalesceMany(K key, Function<K, Flux<V>> loader) {
+        return Flux.defer(() -> inFlight.computeIfAbsent(key, k -> share(k, loader)));
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Flux<V> share(K key, Function<K, Flux<V>> loader) {
+        var self = new AtomicReference<Flux<V>>();
+        var shared = Flux.defer(() -> loader.apply(key))
+                .doFinally(signalType -> inFlight.remove(key, self.get()))
+                .replay()
+                .refCount();
+        self.set(shared);
+        return shared;
+    }
+}
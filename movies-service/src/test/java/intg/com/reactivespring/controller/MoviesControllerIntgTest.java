@@ -1,4 +1,660 @@
 package com.reactivespring.controller;
 
-public class MoviesControllerIntgTest {
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.reactivespring.domain.Movie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@AutoConfigureWireMock(port = 8084)
+@TestPropertySource(properties = {
+        "rest-client.movies-info.url=http://localhost:8084/v1/movieinfos",
+        "rest-client.movies-info.timeout=3s",
+        "rest-client.reviews.url=http://localhost:8084/v1/reviews",
+        "rest-client.reviews.timeout=3s",
+        "movies.movie-info-cache.enabled=false",
+        "movies.reviews-cache.enabled=true",
+        "rest-client.movies-info.retry.min-backoff=10ms",
+        "rest-client.reviews.retry.min-backoff=10ms",
+        "rest-client.movies-info.circuit-breaker.minimum-number-of-calls=1000",
+        "rest-client.reviews.circuit-breaker.minimum-number-of-calls=1000"
+})
+class MoviesControllerIntgTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void retrieveMovieById() {
+        //given
+        var movieId = "abc";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Movie.class)
+                .consumeWith(movieEntityExchangeResult -> {
+                    var movie = movieEntityExchangeResult.getResponseBody();
+                    assert movie != null;
+                    //then
+                    assertEquals(2, movie.getReviewList().size());
+                    assertEquals("Batman Begins", movie.getMovieInfo().getName());
+                });
+    }
+
+    @Test
+    void retrieveMovieByIdFetchesInfoAndReviewsConcurrently() {
+        //given
+        var movieId = "abc";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")
+                        .withFixedDelay(1000)));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")
+                        .withFixedDelay(1000)));
+
+        //when
+        var start = System.currentTimeMillis();
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isOk();
+
+        //then - both hops are in flight at the same time, a sequential call would take at least 2000 ms
+        assertTrue(System.currentTimeMillis() - start < 2000);
+    }
+
+    @Test
+    void retrieveMovieByIdIsTimedPerHop() {
+        //given
+        var movieId = "timed";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isOk();
+
+        //when
+        webTestClient.get()
+                .uri("/actuator/metrics/movies.downstream.requests?tag=downstream:moviesInfo&tag=outcome:SUCCESS")
+                .exchange()
+                .expectStatus().isOk()
+                //then
+                .expectBody()
+                .jsonPath("$.availableTags[?(@.tag == 'endpoint')].values[0]").isEqualTo("movieInfoById");
+
+        webTestClient.get()
+                .uri("/actuator/metrics/movies.downstream.attempts.percentile?tag=downstream:reviews&tag=phi:0.99")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get()
+                .uri("/actuator/metrics/movies.aggregation?tag=endpoint:movieById")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void retrieveMovieByIdUsesOnePoolPerDownstream() {
+        //given
+        var movieId = "pooled";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isOk();
+
+        //when
+        webTestClient.get()
+                .uri("/actuator/metrics/reactor.netty.connection.provider.total.connections")
+                .exchange()
+                .expectStatus().isOk()
+                //then
+                .expectBody()
+                .jsonPath("$.availableTags[?(@.tag == 'name')].values[*]").value(names ->
+                        assertEquals(Set.of("moviesInfo", "reviews"), Set.copyOf((List<?>) names)));
+    }
+
+    @Test
+    void retrieveMovieByIdRevalidatesReviewsWithETag() {
+        //given
+        var movieId = "revalidated";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .atPriority(2)
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("ETag", "\"v1\"")
+                        .withBodyFile("reviews.json")));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .atPriority(1)
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.NOT_MODIFIED.value())
+                        .withHeader("ETag", "\"v1\"")));
+
+        var eTag = webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Movie.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", eTag)
+                .expectBody(Movie.class)
+                .consumeWith(movieEntityExchangeResult -> {
+                    var movie = movieEntityExchangeResult.getResponseBody();
+                    assert movie != null;
+                    //then
+                    assertEquals(2, movie.getReviewList().size());
+                });
+        verify(exactly(1), getRequestedFor(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .withHeader("If-None-Match", equalTo("\"v1\"")));
+
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void retrieveMovieByIdMovieInfoNotFound() {
+        //given
+        var movieId = "abc";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse().withStatus(404)));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class)
+                .isEqualTo("There is no MovieInfo Available for the passed in Id : abc");
+    }
+
+    @Test
+    void retrieveMovieByIdReviewsNotFound() {
+        //given
+        var movieId = "abc";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse().withStatus(404)));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Movie.class)
+                .consumeWith(movieEntityExchangeResult -> {
+                    var movie = movieEntityExchangeResult.getResponseBody();
+                    assert movie != null;
+                    //then
+                    assertEquals(0, movie.getReviewList().size());
+                    assertEquals("Batman Begins", movie.getMovieInfo().getName());
+                });
+    }
+
+    @Test
+    void retrieveMovieByIdMovieInfoServerError() {
+        //given
+        var movieId = "abc";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(500)
+                        .withBody("MovieInfo Service Unavailable")));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody(String.class)
+                .isEqualTo("Server Exception in MoviesInfoService MovieInfo Service Unavailable");
+    }
+
+    @Test
+    void retrieveMovieByIdReviewsServerError() {
+        //given
+        var movieId = "abc";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withStatus(500)
+                        .withBody("Review Service Not Available")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody(String.class)
+                .isEqualTo("Server Exception in ReviewsService Review Service Not Available");
+    }
+
+    @Test
+    void retrieveMovieByIdMovieInfoServerErrorIsRetried() {
+        //given
+        var movieId = "retry";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .inScenario("retry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse()
+                        .withStatus(503)
+                        .withBody("MovieInfo Service Unavailable"))
+                .willSetStateTo("recovered"));
+
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .inScenario("retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isOk();
+
+        //then
+        verify(exactly(2), getRequestedFor(urlEqualTo("/v1/movieinfos/" + movieId)));
+    }
+
+    @Test
+    void retrieveMovieByIdMovieInfoTimeout() {
+        //given
+        var movieId = "abc";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")
+                        .withFixedDelay(3500)));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    void retrieveMovieByIdReviewsOverLatencyBudget() {
+        //given
+        var movieId = "budget-1";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")
+                        .withFixedDelay(3000)));
+
+        //when
+        var start = System.currentTimeMillis();
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "1500")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Movie.class)
+                .consumeWith(movieEntityExchangeResult -> {
+                    var movie = movieEntityExchangeResult.getResponseBody();
+                    assert movie != null;
+                    //then
+                    assertTrue(movie.isDegraded());
+                    assertEquals(0, movie.getReviewList().size());
+                    assertEquals("Batman Begins", movie.getMovieInfo().getName());
+                });
+        assertTrue(System.currentTimeMillis() - start < 3000);
+    }
+
+    @Test
+    void retrieveMovieByIdWithinLatencyBudget() {
+        //given
+        var movieId = "budget-2";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "2000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Movie.class)
+                .consumeWith(movieEntityExchangeResult -> {
+                    var movie = movieEntityExchangeResult.getResponseBody();
+                    assert movie != null;
+                    //then
+                    assertFalse(movie.isDegraded());
+                    assertEquals(2, movie.getReviewList().size());
+                });
+    }
+
+    @Test
+    void retrieveMovieByIdMovieInfoOverLatencyBudget() {
+        //given
+        var movieId = "budget-3";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")
+                        .withFixedDelay(2000)));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", movieId)
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "500")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    void streamMovieById() {
+        //given
+        var movieId = "stream-1";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        var events = webTestClient.get()
+                .uri("/v1/movies/{id}/stream", movieId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .getResponseBody();
+
+        //then - the MovieInfo comes first, followed by every review
+        StepVerifier.create(events)
+                .expectNextMatches(event -> "movieInfo".equals(event.event())
+                        && Objects.requireNonNull(event.data()).contains("Batman Begins"))
+                .expectNextMatches(event -> "review".equals(event.event()))
+                .expectNextMatches(event -> "review".equals(event.event()))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamMovieByIdAsNdjson() {
+        //given
+        var movieId = "stream-2";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}/stream", movieId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .consumeWith(stringEntityExchangeResult -> {
+                    var lines = Objects.requireNonNull(stringEntityExchangeResult.getResponseBody()).split("\\n");
+                    //then
+                    assertEquals(3, lines.length);
+                    assertTrue(lines[0].contains("Batman Begins"));
+                    assertTrue(lines[1].contains("Awesome Movie"));
+                });
+    }
+
+    @Test
+    void streamMovieByIdMovieInfoNotFound() {
+        //given
+        var movieId = "stream-3";
+        stubFor(get(urlEqualTo("/v1/movieinfos/" + movieId))
+                .willReturn(aResponse().withStatus(404)));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=" + movieId))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}/stream", movieId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void retrieveMoviesByIds() {
+        //given
+        stubFor(get(urlEqualTo("/v1/movieinfos/batch-1"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlEqualTo("/v1/movieinfos/batch-2"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlEqualTo("/v1/movieinfos/batch-3"))
+                .willReturn(aResponse().withStatus(404)));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies?ids=batch-1,batch-3,batch-2,batch-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Movie.class)
+                .hasSize(2);
+
+        //then - the duplicated id is fetched once and the unknown one is left out
+        verify(exactly(1), getRequestedFor(urlEqualTo("/v1/movieinfos/batch-1")));
+        verify(exactly(1), getRequestedFor(urlEqualTo("/v1/reviews?movieInfoId=batch-1")));
+        verify(exactly(1), getRequestedFor(urlEqualTo("/v1/reviews?movieInfoId=batch-2")));
+    }
+
+    @Test
+    void retrieveMoviesByIdsReviewsOverLatencyBudget() {
+        //given
+        stubFor(get(urlEqualTo("/v1/movieinfos/batch-4"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")));
+
+        stubFor(get(urlEqualTo("/v1/reviews?movieInfoId=batch-4"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")
+                        .withFixedDelay(3000)));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies?ids=batch-4")
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "1500")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Movie.class)
+                //then - the movie is degraded, not left out
+                .value(movies -> assertTrue(movies.get(0).isDegraded()));
+    }
+
+    @Test
+    void retrieveMoviesByIdsMovieInfoOverLatencyBudget() {
+        //given
+        stubFor(get(urlEqualTo("/v1/movieinfos/batch-5"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("movieinfo.json")
+                        .withFixedDelay(2000)));
+
+        stubFor(get(urlPathEqualTo("/v1/reviews"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("reviews.json")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies?ids=batch-5")
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "500")
+                .exchange()
+                //then
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    void retrieveMovieByIdLatencyBudgetOutOfRange() {
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "-1")
+                .exchange()
+                //then
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void retrieveMoviesByIdsAboveMaxSize() {
+        //given
+        var ids = String.join(",", Collections.nCopies(201, "abc"));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies?ids=" + ids)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
 }
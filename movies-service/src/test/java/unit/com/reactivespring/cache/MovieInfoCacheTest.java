@@ -0,0 +1,170 @@
+package com.reactivespring.cache;
+
+import com.reactivespring.client.ETagged;
+import com.reactivespring.client.MoviesInfoRestClient;
+import com.reactivespring.config.MoviesProperties;
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.exception.MoviesInfoServerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieInfoCacheTest {
+
+    MoviesInfoRestClient moviesInfoRestClientMock = mock(MoviesInfoRestClient.class);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void retrieveMovieInfoIsCached() {
+        //given
+        var movieInfoCache = movieInfoCache(Duration.ofMinutes(10), null);
+        when(moviesInfoRestClientMock.retrieveMovieInfo(eq("abc"), any()))
+                .thenReturn(Mono.just(eTagged("Batman Begins")));
+
+        //when
+        StepVerifier.create(movieInfoCache.retrieveMovieInfo("abc"))
+                .expectNextMatches(movieInfo -> movieInfo.getName().equals("Batman Begins"))
+                .verifyComplete();
+        StepVerifier.create(movieInfoCache.retrieveMovieInfo("abc"))
+                .expectNextMatches(movieInfo -> movieInfo.getName().equals("Batman Begins"))
+                .verifyComplete();
+
+        //then
+        verify(moviesInfoRestClientMock, times(1)).retrieveMovieInfo(eq("abc"), any());
+        assertEquals(1, movieInfoCache.stats().hitCount());
+        assertEquals(1, movieInfoCache.stats().missCount());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void retrieveMovieInfoExpiresAfterTtl() throws InterruptedException {
+        //given
+        var movieInfoCache = movieInfoCache(Duration.ofMillis(100), null);
+        when(moviesInfoRestClientMock.retrieveMovieInfo(eq("abc"), any()))
+                .thenReturn(Mono.just(eTagged("Batman Begins")));
+
+        //when
+        movieInfoCache.retrieveMovieInfo("abc").block();
+        Thread.sleep(200);
+        movieInfoCache.retrieveMovieInfo("abc").block();
+
+        //then
+        verify(moviesInfoRestClientMock, times(2)).retrieveMovieInfo(eq("abc"), any());
+    }
+
+    @Test
+    void retrieveMovieInfoServesStaleValueWhileRefreshing() throws InterruptedException {
+        //given
+        var movieInfoCache = movieInfoCache(Duration.ofMinutes(10), Duration.ofMillis(100));
+        when(moviesInfoRestClientMock.retrieveMovieInfo(eq("abc"), any()))
+                .thenReturn(Mono.just(eTagged("Batman Begins")))
+                .thenReturn(Mono.just(eTagged("Batman Begins Remastered")).delayElement(Duration.ofMillis(200)));
+
+        //when
+        movieInfoCache.retrieveMovieInfo("abc").block();
+        Thread.sleep(200);
+
+        //then - the stale value is served at once and the refreshed one shows up afterwards
+        StepVerifier.create(movieInfoCache.retrieveMovieInfo("abc"))
+                .expectNextMatches(movieInfo -> movieInfo.getName().equals("Batman Begins"))
+                .verifyComplete();
+        Thread.sleep(400);
+        StepVerifier.create(movieInfoCache.retrieveMovieInfo("abc"))
+                .expectNextMatches(movieInfo -> movieInfo.getName().equals("Batman Begins Remastered"))
+                .verifyComplete();
+    }
+
+    @Test
+    void retrieveMovieInfoRefreshRevalidatesWithETag() throws InterruptedException {
+        //given
+        var movieInfoCache = movieInfoCache(Duration.ofMinutes(10), Duration.ofMillis(100));
+        var cached = new ETagged<>(movieInfo("Batman Begins"), "\"v1\"");
+        when(moviesInfoRestClientMock.retrieveMovieInfo(eq("abc"), isNull())).thenReturn(Mono.just(cached));
+        when(moviesInfoRestClientMock.retrieveMovieInfo("abc", cached)).thenReturn(Mono.just(cached));
+
+        //when
+        movieInfoCache.retrieveMovieInfo("abc").block();
+        Thread.sleep(200);
+        movieInfoCache.retrieveMovieInfo("abc").block();
+        Thread.sleep(200);
+
+        //then - the refresh passed the cached entry, so the client could send its ETag
+        verify(moviesInfoRestClientMock, times(1)).retrieveMovieInfo(eq("abc"), isNull());
+        verify(moviesInfoRestClientMock, times(1)).retrieveMovieInfo("abc", cached);
+        StepVerifier.create(movieInfoCache.retrieveMovieInfo("abc"))
+                .expectNextMatches(movieInfo -> movieInfo.getName().equals("Batman Begins"))
+                .verifyComplete();
+    }
+
+    @Test
+    void retrieveMovieInfoErrorIsNotCached() {
+        //given
+        var movieInfoCache = movieInfoCache(Duration.ofMinutes(10), null);
+        when(moviesInfoRestClientMock.retrieveMovieInfo(eq("abc"), any()))
+                .thenReturn(Mono.error(new MoviesInfoServerException("Server Exception in MoviesInfoService")))
+                .thenReturn(Mono.just(eTagged("Batman Begins")));
+
+        //when
+        StepVerifier.create(movieInfoCache.retrieveMovieInfo("abc"))
+                .expectError(MoviesInfoServerException.class)
+                .verify();
+
+        //then
+        StepVerifier.create(movieInfoCache.retrieveMovieInfo("abc"))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(moviesInfoRestClientMock, times(2)).retrieveMovieInfo(eq("abc"), any());
+    }
+
+    @Test
+    void retrieveMovieInfoEvictsAboveMaximumSize() {
+        //given
+        var properties = new MoviesProperties();
+        properties.getMovieInfoCache().setMaximumSize(1);
+        properties.getMovieInfoCache().setRefreshAfter(null);
+        var movieInfoCache = new MovieInfoCache(moviesInfoRestClientMock, properties, meterRegistry);
+        when(moviesInfoRestClientMock.retrieveMovieInfo(eq("abc"), any()))
+                .thenReturn(Mono.just(eTagged("Batman Begins")));
+        when(moviesInfoRestClientMock.retrieveMovieInfo(eq("def"), any()))
+                .thenReturn(Mono.just(eTagged("The Dark Knight")));
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            movieInfoCache.retrieveMovieInfo("abc").block();
+            movieInfoCache.retrieveMovieInfo("def").block();
+        }
+
+        //then
+        movieInfoCache.cleanUp();
+        assert movieInfoCache.stats().evictionCount() > 0;
+    }
+
+    private MovieInfoCache movieInfoCache(Duration ttl, Duration refreshAfter) {
+        var properties = new MoviesProperties();
+        properties.getMovieInfoCache().setTtl(ttl);
+        properties.getMovieInfoCache().setRefreshAfter(refreshAfter);
+        return new MovieInfoCache(moviesInfoRestClientMock, properties, meterRegistry);
+    }
+
+    private ETagged<MovieInfo> eTagged(String name) {
+        return new ETagged<>(movieInfo(name), null);
+    }
+
+    private MovieInfo movieInfo(String name) {
+        return new MovieInfo("abc", name, 2005, List.of("Christian Bale"), LocalDate.parse("2005-06-15"));
+    }
+}
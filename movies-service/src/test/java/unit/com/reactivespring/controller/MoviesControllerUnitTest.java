@@ -1,4 +1,227 @@
 package com.reactivespring.controller;
 
-public class MoviesControllerUnitTest {
+import com.reactivespring.config.MoviesProperties;
+import com.reactivespring.domain.Movie;
+import com.reactivespring.domain.MovieInfo;
+import com.reactivespring.domain.Review;
+import com.reactivespring.exception.MoviesInfoClientException;
+import com.reactivespring.exception.ReviewsServerException;
+import com.reactivespring.service.LatencyBudget;
+import com.reactivespring.service.MoviesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = MoviesController.class)
+@AutoConfigureWebTestClient
+@EnableConfigurationProperties(MoviesProperties.class)
+class MoviesControllerUnitTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    MoviesService moviesServiceMock;
+
+    @Test
+    void retrieveMovieById() {
+        //given
+        var movieInfo = new MovieInfo("abc", "Batman Begins", 2005,
+                List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+        var reviews = List.of(new Review("1", 1L, "Awesome Movie", 9.0));
+        when(moviesServiceMock.retrieveMovieById(anyString(), any(LatencyBudget.class))).thenReturn(Mono.just(new Movie(movieInfo, reviews)));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Movie.class)
+                .consumeWith(movieEntityExchangeResult -> {
+                    var movie = movieEntityExchangeResult.getResponseBody();
+                    assert movie != null;
+                    //then
+                    assertEquals("Batman Begins", movie.getMovieInfo().getName());
+                    assertEquals(1, movie.getReviewList().size());
+                });
+    }
+
+    @Test
+    void retrieveMovieByIdClientException() {
+        //given
+        when(moviesServiceMock.retrieveMovieById(anyString(), any(LatencyBudget.class)))
+                .thenReturn(Mono.error(new MoviesInfoClientException("MovieInfo not found", 404)));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class)
+                .isEqualTo("MovieInfo not found");
+    }
+
+    @Test
+    void retrieveMovieByIdServerException() {
+        //given
+        when(moviesServiceMock.retrieveMovieById(anyString(), any(LatencyBudget.class)))
+                .thenReturn(Mono.error(new ReviewsServerException("Server Exception in ReviewsService")));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody(String.class)
+                .isEqualTo("Server Exception in ReviewsService");
+    }
+
+    @Test
+    void retrieveMoviesByIds() {
+        //given
+        var movieInfo = new MovieInfo("abc", "Batman Begins", 2005,
+                List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+        when(moviesServiceMock.retrieveMoviesByIds(anyCollection(), any(LatencyBudget.class)))
+                .thenReturn(Flux.just(new Movie(movieInfo, List.of()), new Movie(movieInfo, List.of())));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies?ids=abc,def")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Movie.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void retrieveMoviesByIdsAboveMaxSize() {
+        //given
+        var ids = String.join(",", Collections.nCopies(201, "abc"));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies?ids=" + ids)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        //then
+        verify(moviesServiceMock, never()).retrieveMoviesByIds(anyCollection(), any(LatencyBudget.class));
+    }
+
+    @Test
+    void retrieveMovieByIdWithLatencyBudget() {
+        //given
+        var movieInfo = new MovieInfo("abc", "Batman Begins", 2005,
+                List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+        when(moviesServiceMock.retrieveMovieById(eq("abc"), argThat(budget -> !budget.isUnlimited())))
+                .thenReturn(Mono.just(new Movie(movieInfo, List.of(), true)));
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "300")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBody(Movie.class)
+                .consumeWith(movieEntityExchangeResult -> {
+                    var movie = movieEntityExchangeResult.getResponseBody();
+                    assert movie != null;
+                    //then
+                    assertTrue(movie.isDegraded());
+                });
+    }
+
+    @Test
+    void retrieveMovieByIdWithLatencyBudgetOutOfRange() {
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "0")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get()
+                .uri("/v1/movies?ids=abc")
+                .header(MoviesController.LATENCY_BUDGET_HEADER, "3600000")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        //then
+        verify(moviesServiceMock, never()).retrieveMovieById(anyString(), any(LatencyBudget.class));
+        verify(moviesServiceMock, never()).retrieveMoviesByIds(anyCollection(), any(LatencyBudget.class));
+    }
+
+    @Test
+    void retrieveMovieByIdNotModified() {
+        //given
+        var movieInfo = new MovieInfo("abc", "Batman Begins", 2005,
+                List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+        var reviews = List.of(new Review("1", 1L, "Awesome Movie", 9.0));
+        when(moviesServiceMock.retrieveMovieById(anyString(), any(LatencyBudget.class)))
+                .thenReturn(Mono.just(new Movie(movieInfo, reviews)));
+        var eTag = webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Movie.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                //then
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void retrieveMovieByIdChangedReviews() {
+        //given
+        var movieInfo = new MovieInfo("abc", "Batman Begins", 2005,
+                List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+        when(moviesServiceMock.retrieveMovieById(anyString(), any(LatencyBudget.class)))
+                .thenReturn(Mono.just(new Movie(movieInfo, List.of(new Review("1", 1L, "Awesome Movie", 9.0)))))
+                .thenReturn(Mono.just(new Movie(movieInfo, List.of(new Review("1", 1L, "Awesome Movie", 8.0)))));
+        var eTag = webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .exchange()
+                .returnResult(Movie.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when
+        webTestClient.get()
+                .uri("/v1/movies/{id}", "abc")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                //then
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertNotEquals(eTag, value));
+    }
 }
@@ -0,0 +1,111 @@
+package com.reactivespring.metrics;
+
+import com.reactivespring.exception.MoviesInfoClientException;
+import com.reactivespring.exception.MoviesInfoServerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactiveTimerTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    ReactiveTimer reactiveTimer = ReactiveTimer.downstream(ReactiveTimer.DOWNSTREAM_REQUESTS, "moviesInfo",
+            meterRegistry, MoviesInfoClientException.class, MoviesInfoServerException.class);
+
+    @Test
+    void timeSuccess() {
+        //when
+        StepVerifier.create(reactiveTimer.time("movieInfoById",
+                        Mono.just("movieInfo").delayElement(Duration.ofMillis(50))))
+                .expectNext("movieInfo")
+                .verifyComplete();
+
+        //then
+        var timer = meterRegistry.get(ReactiveTimer.DOWNSTREAM_REQUESTS)
+                .tag("downstream", "moviesInfo")
+                .tag("endpoint", "movieInfoById")
+                .tag("outcome", ReactiveTimer.SUCCESS)
+                .tag("exception", "None")
+                .timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    @Test
+    void timeEveryResubscription() {
+        //given
+        var call = reactiveTimer.time("reviewsByMovieId", Flux.just("review1", "review2"));
+
+        //when
+        call.then(call.then()).block();
+
+        //then
+        assertEquals(2, meterRegistry.get(ReactiveTimer.DOWNSTREAM_REQUESTS).timer().count());
+    }
+
+    @Test
+    void timeClientError() {
+        //when
+        StepVerifier.create(reactiveTimer.time("movieInfoById",
+                        Mono.error(new MoviesInfoClientException("There is no MovieInfo Available", 404))))
+                .expectError(MoviesInfoClientException.class)
+                .verify();
+
+        //then
+        assertEquals(1, meterRegistry.get(ReactiveTimer.DOWNSTREAM_REQUESTS)
+                .tag("outcome", ReactiveTimer.CLIENT_ERROR)
+                .tag("exception", "MoviesInfoClientException")
+                .timer().count());
+    }
+
+    @Test
+    void timeServerError() {
+        //when
+        StepVerifier.create(reactiveTimer.time("movieInfoById",
+                        Flux.error(new MoviesInfoServerException("Server Exception in MoviesInfoService"))))
+                .expectError(MoviesInfoServerException.class)
+                .verify();
+
+        //then
+        assertEquals(1, meterRegistry.get(ReactiveTimer.DOWNSTREAM_REQUESTS)
+                .tag("outcome", ReactiveTimer.SERVER_ERROR)
+                .tag("exception", "MoviesInfoServerException")
+                .timer().count());
+    }
+
+    @Test
+    void timeTimeout() {
+        //when
+        StepVerifier.create(reactiveTimer.time("movieInfoById", Mono.error(new TimeoutException())))
+                .expectError(TimeoutException.class)
+                .verify();
+
+        //then
+        assertEquals(1, meterRegistry.get(ReactiveTimer.DOWNSTREAM_REQUESTS)
+                .tag("outcome", ReactiveTimer.TIMEOUT)
+                .timer().count());
+    }
+
+    @Test
+    void timeCancellation() {
+        //when
+        StepVerifier.create(reactiveTimer.time("reviewsByMovieId", Flux.never()))
+                .thenCancel()
+                .verify();
+
+        //then
+        assertEquals(1, meterRegistry.get(ReactiveTimer.DOWNSTREAM_REQUESTS)
+                .tag("outcome", ReactiveTimer.CANCELLED)
+                .timer().count());
+    }
+}
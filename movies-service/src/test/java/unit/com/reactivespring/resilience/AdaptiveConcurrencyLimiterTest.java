@@ -0,0 +1,169 @@
+package com.reactivespring.resilience;
+
+import com.reactivespring.config.RestClientProperties;
+import com.reactivespring.exception.DownstreamOverloadedException;
+import com.reactivespring.exception.MoviesInfoServerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void callAboveLimitWaitsForASlot() {
+        //given
+        var limiter = limiter(properties(1, 10, Duration.ofSeconds(1)));
+        var first = Sinks.<String>one();
+
+        //when
+        var firstCall = limiter.limit(first.asMono()).subscribe();
+        var secondCall = limiter.limit(Mono.just("second"));
+
+        //then
+        StepVerifier.create(secondCall)
+                .then(() -> assertEquals(1, limiter.getQueueDepth()))
+                .then(() -> first.tryEmitValue("first"))
+                .expectNext("second")
+                .verifyComplete();
+        assertEquals(0, limiter.getInFlight());
+        firstCall.dispose();
+    }
+
+    @Test
+    void callIsRejectedWhenQueueIsFull() {
+        //given
+        var limiter = limiter(properties(1, 0, Duration.ofSeconds(1)));
+        var first = Sinks.<String>one();
+        var firstCall = limiter.limit(first.asMono()).subscribe();
+
+        //when
+        StepVerifier.create(limiter.limit(Mono.just("second")))
+                .expectError(DownstreamOverloadedException.class)
+                .verify();
+
+        //then
+        assertEquals(1.0, meterRegistry.get("downstream.concurrency.rejected").counter().count());
+        firstCall.dispose();
+    }
+
+    @Test
+    void callIsRejectedWhenQueueWaitIsOver() {
+        //given
+        var limiter = limiter(properties(1, 10, Duration.ofMillis(50)));
+        var first = Sinks.<String>one();
+        var firstCall = limiter.limit(first.asMono()).subscribe();
+
+        //when
+        StepVerifier.create(limiter.limit(Mono.just("second")))
+                .expectError(DownstreamOverloadedException.class)
+                .verify();
+
+        //then
+        assertEquals(0, limiter.getQueueDepth());
+        firstCall.dispose();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitGrowsWhileCallsSucceed() {
+        //given
+        var limiter = limiter(properties(2, 10, Duration.ofSeconds(1)));
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            limiter.limit(Mono.just("movieInfo")).block();
+        }
+
+        //then
+        assertTrue(limiter.getLimit() > 2);
+    }
+
+    @Test
+    void limitShrinksOnDrops() {
+        //given
+        var limiter = limiter(properties(10, 10, Duration.ofSeconds(1)));
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(limiter.limit(Mono.error(new MoviesInfoServerException("Server Exception"))))
+                    .expectError(MoviesInfoServerException.class)
+                    .verify();
+        }
+
+        //then
+        assertEquals(10 * Math.pow(0.9, 5), limiter.getLimit(), 0.001);
+        assertEquals(limiter.getLimit(), meterRegistry.get("downstream.concurrency.limit").gauge().value(), 0.001);
+    }
+
+    @Test
+    void limitShrinksOnSlowCalls() {
+        //given
+        var properties = properties(10, 10, Duration.ofSeconds(1));
+        properties.setLatencyThreshold(Duration.ofMillis(10));
+        var limiter = limiter(properties);
+
+        //when
+        limiter.limit(Mono.just("movieInfo").delayElement(Duration.ofMillis(50))).block();
+
+        //then
+        assertEquals(9, limiter.getLimit(), 0.001);
+    }
+
+    @Test
+    void slowlyConsumedStreamReleasesItsSlotAtTheFirstElement() {
+        //given
+        var properties = properties(4, 0, Duration.ofSeconds(1));
+        properties.setLatencyThreshold(Duration.ofMillis(10));
+        var limiter = limiter(properties);
+        var stream = Sinks.many().unicast().<String>onBackpressureBuffer();
+
+        //when
+        StepVerifier.create(limiter.limit(stream.asFlux()))
+                .then(() -> stream.tryEmitNext("first"))
+                .expectNext("first")
+                .then(() -> assertEquals(0, limiter.getInFlight()))
+                .thenAwait(Duration.ofMillis(50))
+                .then(() -> stream.tryEmitNext("second"))
+                .then(stream::tryEmitComplete)
+                .expectNext("second")
+                .verifyComplete();
+
+        //then - the stream was open longer than the threshold, the first element came in time
+        assertEquals(4, limiter.getLimit(), 0.001);
+    }
+
+    @Test
+    void streamCancelledBeforeItsFirstElementReleasesItsSlot() {
+        //given
+        var limiter = limiter(properties(1, 0, Duration.ofSeconds(1)));
+
+        //when
+        limiter.limit(Sinks.many().unicast().<String>onBackpressureBuffer().asFlux()).subscribe().dispose();
+
+        //then
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit(), 0.001);
+    }
+
+    private RestClientProperties.ConcurrencyLimit properties(int initialLimit, int maxQueueSize, Duration maxQueueWait) {
+        var properties = new RestClientProperties.ConcurrencyLimit();
+        properties.setInitialLimit(initialLimit);
+        properties.setMaxQueueSize(maxQueueSize);
+        properties.setMaxQueueWait(maxQueueWait);
+        return properties;
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(RestClientProperties.ConcurrencyLimit properties) {
+        return new AdaptiveConcurrencyLimiter("moviesInfo", properties,
+                MoviesInfoServerException.class::isInstance, meterRegistry);
+    }
+}
@@ -0,0 +1,141 @@
+package com.reactivespring.resilience;
+
+import com.reactivespring.config.RestClientProperties;
+import com.reactivespring.exception.MoviesInfoClientException;
+import com.reactivespring.exception.MoviesInfoServerException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DownstreamResilienceTest {
+
+    @Test
+    void serverErrorIsRetried() {
+        //given
+        var resilience = resilience(downstream());
+        var attempts = new AtomicInteger();
+        var call = Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.<String>error(new MoviesInfoServerException("Server Exception in MoviesInfoService"))
+                : Mono.just("movieInfo"));
+
+        //when
+        StepVerifier.create(resilience.decorate(call))
+                .expectNext("movieInfo")
+                .verifyComplete();
+
+        //then
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void serverErrorIsPropagatedOnceRetriesAreExhausted() {
+        //given
+        var resilience = resilience(downstream());
+        var attempts = new AtomicInteger();
+        var call = Mono.<String>error(new MoviesInfoServerException("Server Exception in MoviesInfoService"))
+                .doOnSubscribe(subscription -> attempts.incrementAndGet());
+
+        //when
+        StepVerifier.create(resilience.decorate(call))
+                .expectError(MoviesInfoServerException.class)
+                .verify();
+
+        //then
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void clientErrorIsNotRetried() {
+        //given
+        var resilience = resilience(downstream());
+        var attempts = new AtomicInteger();
+        var call = Mono.<String>error(new MoviesInfoClientException("There is no MovieInfo Available", 404))
+                .doOnSubscribe(subscription -> attempts.incrementAndGet());
+
+        //when
+        StepVerifier.create(resilience.decorate(call))
+                .expectError(MoviesInfoClientException.class)
+                .verify();
+
+        //then
+        assertEquals(1, attempts.get());
+        assertEquals(0, resilience.getCircuitBreaker().getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void timeoutIsNotRetried() {
+        //given
+        var resilience = resilience(downstream());
+        var attempts = new AtomicInteger();
+        var call = Mono.<String>error(new TimeoutException())
+                .doOnSubscribe(subscription -> attempts.incrementAndGet());
+
+        //when
+        StepVerifier.create(resilience.decorate(call))
+                .expectError(TimeoutException.class)
+                .verify();
+
+        //then
+        assertEquals(1, attempts.get());
+        assertEquals(1, resilience.getCircuitBreaker().getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void circuitBreakerOpensAndProbesWhenHalfOpen() throws InterruptedException {
+        //given
+        var downstream = downstream();
+        downstream.getRetry().setMaxRetries(0);
+        downstream.getCircuitBreaker().setSlidingWindowSize(4);
+        downstream.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        downstream.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMillis(200));
+        downstream.getCircuitBreaker().setPermittedNumberOfCallsInHalfOpenState(1);
+        var resilience = resilience(downstream);
+        var attempts = new AtomicInteger();
+        var failingCall = Mono.<String>error(new MoviesInfoServerException("Server Exception in MoviesInfoService"))
+                .doOnSubscribe(subscription -> attempts.incrementAndGet());
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(resilience.decorate(failingCall))
+                    .expectError(MoviesInfoServerException.class)
+                    .verify();
+        }
+
+        //then - open, the downstream is not called anymore
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getCircuitBreaker().getState());
+        StepVerifier.create(resilience.decorate(failingCall))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        assertEquals(4, attempts.get());
+
+        //then - half open, a successful probe closes it again
+        Thread.sleep(400);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, resilience.getCircuitBreaker().getState());
+        StepVerifier.create(resilience.decorate(Mono.just("movieInfo")))
+                .expectNext("movieInfo")
+                .verifyComplete();
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getCircuitBreaker().getState());
+    }
+
+    private RestClientProperties.Downstream downstream() {
+        var downstream = new RestClientProperties.Downstream();
+        downstream.getRetry().setMinBackoff(Duration.ofMillis(10));
+        downstream.getRetry().setMaxBackoff(Duration.ofMillis(50));
+        return downstream;
+    }
+
+    private DownstreamResilience resilience(RestClientProperties.Downstream downstream) {
+        return new DownstreamResilience("moviesInfo", downstream, CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry(),
+                MoviesInfoClientException.class, MoviesInfoServerException.class);
+    }
+}
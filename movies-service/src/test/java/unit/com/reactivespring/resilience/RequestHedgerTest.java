@@ -0,0 +1,138 @@
+package com.reactivespring.resilience;
+
+import com.reactivespring.config.RestClientProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestHedgerTest {
+
+    @Test
+    void slowRequestIsHedgedAndLoserCancelled() {
+        //given
+        var requestHedger = new RequestHedger("reviews", hedge(100));
+        var attempts = new AtomicInteger();
+        var cancelled = new AtomicInteger();
+        Supplier<Flux<String>> call = () -> attempts.incrementAndGet() == 1
+                ? Flux.just("slow").delayElements(Duration.ofSeconds(5)).doOnCancel(cancelled::incrementAndGet)
+                : Flux.just("fast");
+
+        //when
+        StepVerifier.create(requestHedger.hedge(HttpMethod.GET, call))
+                .expectNext("fast")
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        //then
+        assertEquals(2, attempts.get());
+        assertEquals(1, cancelled.get());
+        assertEquals(1, requestHedger.hedgedRequests());
+    }
+
+    @Test
+    void fastRequestIsNotHedged() {
+        //given
+        var requestHedger = new RequestHedger("reviews", hedge(100));
+        var attempts = new AtomicInteger();
+
+        //when
+        StepVerifier.create(requestHedger.hedge(HttpMethod.GET, () -> {
+                    attempts.incrementAndGet();
+                    return Flux.just("fast");
+                }))
+                .expectNext("fast")
+                .verifyComplete();
+
+        //then
+        assertEquals(1, attempts.get());
+        assertEquals(0, requestHedger.hedgedRequests());
+    }
+
+    @Test
+    void nonIdempotentRequestIsNotHedged() {
+        //given
+        var requestHedger = new RequestHedger("reviews", hedge(100));
+        var attempts = new AtomicInteger();
+
+        //when
+        StepVerifier.create(requestHedger.hedge(HttpMethod.POST, () -> {
+                    attempts.incrementAndGet();
+                    return Flux.just("slow").delayElements(Duration.ofMillis(200));
+                }))
+                .expectNext("slow")
+                .verifyComplete();
+
+        //then
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void hedgingStaysWithinBudget() {
+        //given
+        var requestHedger = new RequestHedger("reviews", hedge(20));
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(requestHedger.hedge(HttpMethod.GET, () -> Flux.just("slow")
+                            .delayElements(Duration.ofMillis(30))))
+                    .expectNext("slow")
+                    .verifyComplete();
+        }
+
+        //then - 10 requests at 20% allow 2 hedges
+        assertEquals(2, requestHedger.hedgedRequests());
+    }
+
+    @Test
+    void hedgeDelayFollowsRecentLatencies() {
+        //given
+        var hedge = hedge(100);
+        hedge.setPercentile(50);
+        var requestHedger = new RequestHedger("reviews", hedge);
+
+        //when
+        for (int i = 0; i < 20; i++) {
+            requestHedger.hedge(HttpMethod.GET, () -> Flux.just("fast")).blockLast();
+        }
+
+        //then - far below the initial delay once enough latencies were recorded
+        assertTrue(requestHedger.hedgeDelay().compareTo(Duration.ofMillis(10)) <= 0);
+    }
+
+    @Test
+    void cancelledRequestsKeepTheDelayUp() {
+        //given - every first request is slow and loses to its hedge after the 10ms initial delay
+        var hedge = hedge(100);
+        hedge.setPercentile(90);
+        var requestHedger = new RequestHedger("reviews", hedge);
+
+        //when
+        for (int i = 0; i < 20; i++) {
+            var attempts = new AtomicInteger();
+            requestHedger.hedge(HttpMethod.GET, () -> attempts.incrementAndGet() == 1
+                    ? Flux.just("slow").delayElements(Duration.ofSeconds(5))
+                    : Flux.just("fast")).blockLast();
+        }
+
+        //then - the cancelled requests are recorded with at least the 10ms they waited
+        assertEquals(20, requestHedger.hedgedRequests());
+        assertTrue(requestHedger.hedgeDelay().compareTo(Duration.ofMillis(10)) >= 0);
+    }
+
+    private RestClientProperties.Hedge hedge(double budgetPercent) {
+        var hedge = new RestClientProperties.Hedge();
+        hedge.setEnabled(true);
+        hedge.setInitialDelay(Duration.ofMillis(10));
+        hedge.setMinDelay(Duration.ofMillis(1));
+        hedge.setBudgetPercent(budgetPercent);
+        return hedge;
+    }
+}
@@ -0,0 +1,91 @@
+package com.reactivespring.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InFlightRequestCoalescerTest {
+
+    InFlightRequestCoalescer<String, String> coalescer = new InFlightRequestCoalescer<>();
+
+    @Test
+    void concurrentCallersShareOneLookup() {
+        //given
+        var calls = new AtomicInteger();
+
+        //when
+        var first = coalescer.coalesce("1", id -> slowLookup(id, calls));
+        var second = coalescer.coalesce("1", id -> slowLookup(id, calls));
+
+        //then
+        StepVerifier.create(Mono.zip(first, second))
+                .expectNextMatches(tuple -> tuple.getT1().equals("movie-1") && tuple.getT2().equals("movie-1"))
+                .verifyComplete();
+        assertEquals(1, calls.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void differentKeysAreNotShared() {
+        //given
+        var calls = new AtomicInteger();
+
+        //when
+        var first = coalescer.coalesce("1", id -> slowLookup(id, calls));
+        var second = coalescer.coalesce("2", id -> slowLookup(id, calls));
+
+        //then
+        StepVerifier.create(Mono.zip(first, second))
+                .expectNextMatches(tuple -> tuple.getT1().equals("movie-1") && tuple.getT2().equals("movie-2"))
+                .verifyComplete();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void completedLookupIsNotCached() {
+        //given
+        var calls = new AtomicInteger();
+
+        //when
+        StepVerifier.create(coalescer.coalesce("1", id -> slowLookup(id, calls)))
+                .expectNext("movie-1")
+                .verifyComplete();
+        StepVerifier.create(coalescer.coalesce("1", id -> slowLookup(id, calls)))
+                .expectNext("movie-1")
+                .verifyComplete();
+
+        //then
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void errorIsNotCached() {
+        //given
+        var calls = new AtomicInteger();
+
+        //when
+        StepVerifier.create(coalescer.coalesce("1", id -> Mono.<String>error(new IllegalStateException("boom"))
+                        .doOnSubscribe(subscription -> calls.incrementAndGet())))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        //then
+        assertEquals(0, coalescer.inFlightCount());
+        StepVerifier.create(coalescer.coalesce("1", id -> slowLookup(id, calls)))
+                .expectNext("movie-1")
+                .verifyComplete();
+        assertEquals(2, calls.get());
+    }
+
+    private Mono<String> slowLookup(String id, AtomicInteger calls) {
+        return Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return "movie-" + id;
+        }).delayElement(Duration.ofMillis(100));
+    }
+}
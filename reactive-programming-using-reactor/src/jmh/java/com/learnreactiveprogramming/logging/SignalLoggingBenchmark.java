@@ -0,0 +1,80 @@
+package com.learnreactiveprogramming.logging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.event.Level;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of logging a pipeline on the thread that runs it, {@code .log()} against {@link SignalLogger} at a disabled
+ * level, sampled and unsampled. The appender in {@code logback-test.xml} is asynchronous and discards the events, so
+ * the numbers cover formatting and enqueueing but not the console.
+ * <p>
+ * {@code ./gradlew jmh} runs it with the gc profiler, see the jmh block of build.gradle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignalLoggingBenchmark {
+
+    @Param({"1000"})
+    int elements;
+
+    Flux<Integer> unlogged;
+    Flux<Integer> reactorLog;
+    Flux<Integer> disabled;
+    Flux<Integer> everySignal;
+    Flux<Integer> sampled;
+
+    @Setup
+    public void setUp() {
+        var signalLogger = SignalLogger.of(SignalLoggingBenchmark.class);
+        var source = Flux.range(0, elements);
+
+        unlogged = source;
+        reactorLog = source.log(SignalLoggingBenchmark.class.getName());
+        disabled = source.transform(signalLogger.atLevel(Level.DEBUG)::flux);
+        everySignal = source.transform(signalLogger.atLevel(Level.INFO)::flux);
+        sampled = source.transform(signalLogger.atLevel(Level.INFO).sampleOneIn(1000)::flux);
+    }
+
+    @Benchmark
+    public void unlogged(Blackhole blackhole) {
+        unlogged.subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void reactorLog(Blackhole blackhole) {
+        reactorLog.subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void disabledLevel(Blackhole blackhole) {
+        disabled.subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void everySignal(Blackhole blackhole) {
+        everySignal.subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void sampledOneIn1000(Blackhole blackhole) {
+        sampled.subscribe(blackhole::consume);
+    }
+}
@@ -0,0 +1,93 @@
+package com.learnreactiveprogramming.scheduler;
+
+import com.learnreactiveprogramming.logging.SignalLogger;
+import com.learnreactiveprogramming.service.FluxAndMonoGeneratorService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking calls per second through {@link FluxAndMonoGeneratorService#namesFluxBlockingLookup} with
+ * {@code concurrency} calls blocked at once, on boundedElastic and on virtual threads. A call sleeps
+ * {@code blockMillis}, as a call to a blocking client waiting on the network would.
+ * <p>
+ * The {@code calls} counter is the throughput to read, one op is a batch of {@code concurrency} calls. On a JDK older
+ * than 21 VIRTUAL_THREADS falls back to boundedElastic, run with {@code ./gradlew jmh -PjmhJvm=<jdk 21>/bin/java}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class BlockingSchedulerBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int concurrency;
+
+    @Param({"BOUNDED_ELASTIC", "VIRTUAL_THREADS"})
+    BlockingSchedulers.Mode mode;
+
+    @Param({"1"})
+    long blockMillis;
+
+    Scheduler blockingScheduler;
+    FluxAndMonoGeneratorService service;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Calls {
+
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            calls = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        blockingScheduler = BlockingSchedulers.create(mode);
+        service = new FluxAndMonoGeneratorService(Collections.nCopies(concurrency, "alex"),
+                SignalLogger.of(FluxAndMonoGeneratorService.class), Schedulers.DEFAULT_POOL_SIZE,
+                Schedulers.parallel(), blockingScheduler);
+    }
+
+    @TearDown
+    public void tearDown() {
+        blockingScheduler.dispose();
+    }
+
+    @Benchmark
+    public long blockingLookup(Calls calls) {
+        var completed = service.namesFluxBlockingLookup(this::blockingCall, concurrency).count().block();
+        calls.calls += completed;
+        return completed;
+    }
+
+    private String blockingCall(String name) {
+        try {
+            Thread.sleep(blockMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return name;
+    }
+}
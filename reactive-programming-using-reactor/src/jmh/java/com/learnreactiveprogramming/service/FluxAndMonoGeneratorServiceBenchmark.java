@@ -0,0 +1,190 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.logging.SignalLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.learnreactiveprogramming.service.FluxAndMonoGeneratorService.NAMES;
+
+/**
+ * Every pipeline of {@link FluxAndMonoGeneratorService}, subscribed on the scheduler under test and drained on the
+ * benchmark thread.
+ * <ul>
+ *     <li>The names pipelines read {@code elements} names, {@link #NAMES} repeated.</li>
+ *     <li>The pipelines with fixed input (the Mono ones and the explore ones) are assembled and subscribed
+ *     {@code elements} times in a row.</li>
+ *     <li>namesFluxFlatMapDelay, namesFluxFlatMapConcatMap, exploreMerge and exploreMergeSeq wait on timers of up to
+ *     a second, the *WithoutDelay benchmarks measure their operators without the timers.</li>
+ * </ul>
+ * The signals are logged at DEBUG, which {@code logback-test.xml} leaves disabled.
+ * <p>
+ * {@code ./gradlew jmh} reports throughput, average time and, through the gc profiler, the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FluxAndMonoGeneratorServiceBenchmark {
+
+    @Param({"100", "10000"})
+    int elements;
+
+    @Param({"immediate", "parallel", "boundedElastic"})
+    String scheduler;
+
+    FluxAndMonoGeneratorService service;
+    List<String> names;
+    Scheduler subscribeOn;
+
+    @Setup
+    public void setUp() {
+        names = IntStream.range(0, elements)
+                .mapToObj(i -> NAMES.get(i % NAMES.size()))
+                .collect(Collectors.toList());
+        service = new FluxAndMonoGeneratorService(names, SignalLogger.of(FluxAndMonoGeneratorService.class));
+        subscribeOn = scheduler(scheduler);
+    }
+
+    @Benchmark
+    public void namesFlux(Blackhole blackhole) {
+        drain(service.namesFlux(), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxMap(Blackhole blackhole) {
+        drain(service.namesFluxMap(), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxFilter(Blackhole blackhole) {
+        drain(service.namesFluxFilter(3), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxFlatMap(Blackhole blackhole) {
+        drain(service.namesFluxFlatMap(3), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxFlatMapConcatMapWithoutDelay(Blackhole blackhole) {
+        drain(Flux.fromIterable(names)
+                .map(String::toUpperCase)
+                .filter(name -> name.length() > 3)
+                .concatMap(name -> Flux.fromArray(name.split(""))), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxTransform(Blackhole blackhole) {
+        drain(service.namesFluxTransform(3), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxTransformSwitchIfEmpty(Blackhole blackhole) {
+        drain(service.namesFluxTransformSwitchIfEmpty(3), blackhole);
+    }
+
+    @Benchmark
+    public void nameMono(Blackhole blackhole) {
+        drain(repeat(service::nameMono), blackhole);
+    }
+
+    @Benchmark
+    public void namesMonoFlatMapFilter(Blackhole blackhole) {
+        drain(repeat(() -> service.namesMonoFlatMapFilter(3)), blackhole);
+    }
+
+    @Benchmark
+    public void namesMonoFlatMapMany(Blackhole blackhole) {
+        drain(repeat(() -> service.namesMonoFlatMapMany(3)), blackhole);
+    }
+
+    @Benchmark
+    public void exploreConcat(Blackhole blackhole) {
+        drain(repeat(service::exploreConcat), blackhole);
+    }
+
+    @Benchmark
+    public void exploreConcatWith(Blackhole blackhole) {
+        drain(repeat(service::exploreConcatWith), blackhole);
+    }
+
+    @Benchmark
+    public void exploreMergeWithoutDelay(Blackhole blackhole) {
+        drain(repeat(() -> Flux.merge(Flux.just("A", "B", "C"), Flux.just("D", "E", "F"))), blackhole);
+    }
+
+    @Benchmark
+    public void exploreMergeWith(Blackhole blackhole) {
+        drain(repeat(service::exploreMergeWith), blackhole);
+    }
+
+    @Benchmark
+    public void exploreMergeSeqWithoutDelay(Blackhole blackhole) {
+        drain(repeat(() -> Flux.mergeSequential(Flux.just("A", "B", "C"), Flux.just("D", "E", "F"))), blackhole);
+    }
+
+    @Benchmark
+    public void exploreZip(Blackhole blackhole) {
+        drain(repeat(service::exploreZip), blackhole);
+    }
+
+    @Benchmark
+    public void exploreZip1(Blackhole blackhole) {
+        drain(repeat(service::exploreZip1), blackhole);
+    }
+
+    @Benchmark
+    public void exploreZipWithFlux(Blackhole blackhole) {
+        drain(repeat(service::exploreZipWithFlux), blackhole);
+    }
+
+    @Benchmark
+    public void exploreZipWithMono(Blackhole blackhole) {
+        drain(repeat(service::exploreZipWithMono), blackhole);
+    }
+
+    private <T> Flux<T> repeat(Supplier<? extends Publisher<T>> pipeline) {
+        return Flux.defer(pipeline).repeat(elements - 1L);
+    }
+
+    private void drain(Publisher<?> pipeline, Blackhole blackhole) {
+        Flux.from(pipeline)
+                .subscribeOn(subscribeOn)
+                .doOnNext(blackhole::consume)
+                .then()
+                .block();
+    }
+
+    private static Scheduler scheduler(String name) {
+        switch (name) {
+            case "parallel":
+                return Schedulers.parallel();
+            case "boundedElastic":
+                return Schedulers.boundedElastic();
+            default:
+                return Schedulers.immediate();
+        }
+    }
+}
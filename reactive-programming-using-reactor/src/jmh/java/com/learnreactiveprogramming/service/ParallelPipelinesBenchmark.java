@@ -0,0 +1,77 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.logging.SignalLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.learnreactiveprogramming.service.FluxAndMonoGeneratorService.NAMES;
+
+/**
+ * The single rail names pipelines against their *Parallel versions on {@code rails} rails of
+ * {@link Schedulers#parallel()}, including the cost of indexing the names and merging the rails back in order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelPipelinesBenchmark {
+
+    @Param({"1000", "100000"})
+    int elements;
+
+    @Param({"1", "4"})
+    int rails;
+
+    FluxAndMonoGeneratorService service;
+
+    @Setup
+    public void setUp() {
+        var names = IntStream.range(0, elements)
+                .mapToObj(i -> NAMES.get(i % NAMES.size()))
+                .collect(Collectors.toList());
+        service = new FluxAndMonoGeneratorService(names, SignalLogger.of(FluxAndMonoGeneratorService.class), rails,
+                Schedulers.parallel());
+    }
+
+    @Benchmark
+    public void namesFluxMap(Blackhole blackhole) {
+        drain(service.namesFluxMap(), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxMapParallel(Blackhole blackhole) {
+        drain(service.namesFluxMapParallel(), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxFlatMap(Blackhole blackhole) {
+        drain(service.namesFluxFlatMap(3), blackhole);
+    }
+
+    @Benchmark
+    public void namesFluxFlatMapParallel(Blackhole blackhole) {
+        drain(service.namesFluxFlatMapParallel(3), blackhole);
+    }
+
+    private static void drain(Flux<String> pipeline, Blackhole blackhole) {
+        pipeline.doOnNext(blackhole::consume).then().block();
+    }
+}
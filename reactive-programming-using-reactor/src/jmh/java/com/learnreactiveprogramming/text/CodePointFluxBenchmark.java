@@ -0,0 +1,75 @@
+package com.learnreactiveprogramming.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@code Flux.fromArray(text.split(""))} against {@link CodePointFlux}, on its own and as the inner source of the
+ * flatMap of the names pipelines. The gc profiler of {@code ./gradlew jmh} reports the bytes allocated per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodePointFluxBenchmark {
+
+    @Param({"5", "4096"})
+    int length;
+
+    String text;
+    List<String> names;
+
+    @Setup
+    public void setUp() {
+        text = IntStream.range(0, length)
+                .mapToObj(i -> String.valueOf((char) ('A' + i % 26)))
+                .collect(Collectors.joining());
+        names = IntStream.range(0, 1000)
+                .mapToObj(i -> text)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void split(Blackhole blackhole) {
+        Flux.fromArray(text.split("")).subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void codePoints(Blackhole blackhole) {
+        CodePointFlux.of(text).subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void flatMapSplit(Blackhole blackhole) {
+        Flux.fromIterable(names)
+                .flatMap(name -> Flux.fromArray(name.split("")))
+                .subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void flatMapCodePoints(Blackhole blackhole) {
+        Flux.fromIterable(names)
+                .flatMap(CodePointFlux::of)
+                .subscribe(blackhole::consume);
+    }
+}
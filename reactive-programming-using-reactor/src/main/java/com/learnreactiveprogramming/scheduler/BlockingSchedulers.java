@@ -0,0 +1,115 @@
+package com.learnreactiveprogramming.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Schedulers to offload blocking calls to, with {@code subscribeOn}/{@code publishOn}.
+ * <ul>
+ *     <li>{@link Mode#BOUNDED_ELASTIC} is {@link Schedulers#boundedElastic()}, at most 10 threads per core.</li>
+ *     <li>{@link Mode#VIRTUAL_THREADS} starts one virtual thread per task, a blocked call parks its virtual thread
+ *     instead of holding a platform thread. Virtual threads need JDK 21, the JDK is checked at runtime through
+ *     reflection and older ones fall back to boundedElastic.</li>
+ * </ul>
+ * The virtual thread scheduler cannot schedule with a delay, it is meant for offloading, not for timers such as
+ * delayElements.
+ */
+public final class BlockingSchedulers {
+
+    /**
+     * {@code -Dblocking.scheduler=virtual-threads} opts in to virtual threads, see {@link #fromSystemProperty()}.
+     */
+    public static final String MODE_PROPERTY = "blocking.scheduler";
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingSchedulers.class);
+    private static final String VIRTUAL_THREADS_NAME = "virtualThreads";
+
+    public enum Mode {
+        BOUNDED_ELASTIC,
+        VIRTUAL_THREADS;
+
+        /**
+         * Accepts the constant name as well as its kebab case form, virtual-threads for VIRTUAL_THREADS.
+         */
+        public static Mode parse(String mode) {
+            return valueOf(mode.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private BlockingSchedulers() {
+    }
+
+    /**
+     * The virtual thread scheduler belongs to the caller, who disposes it once done. Disposing the fallback is a
+     * no-op, boundedElastic is shared and cached by Reactor.
+     */
+    public static Scheduler create(Mode mode) {
+        if (mode == Mode.VIRTUAL_THREADS) {
+            var executor = virtualThreadExecutor();
+            if (executor.isPresent()) {
+                return Schedulers.fromExecutorService(executor.get(), VIRTUAL_THREADS_NAME);
+            }
+            log.warn("Virtual threads need JDK 21 or later, running {} on boundedElastic instead",
+                    System.getProperty("java.version"));
+        }
+        return Schedulers.boundedElastic();
+    }
+
+    /**
+     * Mode from the {@value #MODE_PROPERTY} system property, boundedElastic when it is not set. The property is read
+     * on the first call and the scheduler is shared by every caller from then on, none of them disposes it, so a
+     * virtual thread executor is started at most once per JVM.
+     */
+    public static Scheduler fromSystemProperty() {
+        return SystemPropertyHolder.SCHEDULER;
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return virtualThreadFactory().isPresent();
+    }
+
+    /**
+     * {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("virtual-", 0).factory())}, named so the
+     * threads can be told apart in logs and thread dumps.
+     */
+    private static Optional<ExecutorService> virtualThreadExecutor() {
+        return virtualThreadFactory().flatMap(factory -> {
+            try {
+                var newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor",
+                        ThreadFactory.class);
+                return Optional.of((ExecutorService) newThreadPerTaskExecutor.invoke(null, factory));
+            } catch (ReflectiveOperationException ex) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private static final class SystemPropertyHolder {
+
+        private static final Scheduler SCHEDULER = create(modeFromSystemProperty());
+
+        private static Mode modeFromSystemProperty() {
+            var mode = System.getProperty(MODE_PROPERTY);
+            return mode == null ? Mode.BOUNDED_ELASTIC : Mode.parse(mode);
+        }
+    }
+
+    private static Optional<ThreadFactory> virtualThreadFactory() {
+        try {
+            var builderType = Class.forName("java.lang.Thread$Builder");
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "virtual-", 0L);
+            return Optional.of((ThreadFactory) builderType.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,20 +1,84 @@
 package com.learnreactiveprogramming.service;
 
+import com.learnreactiveprogramming.logging.SignalLogger;
+import com.learnreactiveprogramming.scheduler.BlockingSchedulers;
+import com.learnreactiveprogramming.text.CodePointFlux;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
 
 import static java.lang.Long.parseLong;
 import static java.time.Duration.ofMillis;
 import static org.apache.commons.lang3.RandomStringUtils.randomNumeric;
 
+/**
+ * The sample output in the comments was captured with {@code .log()}, the pipelines now log through a
+ * {@link SignalLogger} per pipeline, which only writes onNext, onComplete and onError and does so at DEBUG unless
+ * configured otherwise.
+ */
 public class FluxAndMonoGeneratorService {
 
     public static final List<String> NAMES = List.of("alex", "ben", "chloe");
 
+    private static final Comparator<Tuple2<Long, String>> BY_INDEX = Comparator.comparingLong(Tuple2::getT1);
+
+    private final List<String> names;
+    private final SignalLogger signalLogger;
+    private final int rails;
+    private final Scheduler scheduler;
+    private final Scheduler blockingScheduler;
+    private final Map<String, SignalLogger> pipelineLoggers = new ConcurrentHashMap<>();
+
+    public FluxAndMonoGeneratorService() {
+        this(SignalLogger.of(FluxAndMonoGeneratorService.class));
+    }
+
+    public FluxAndMonoGeneratorService(SignalLogger signalLogger) {
+        this(NAMES, signalLogger);
+    }
+
+    /**
+     * @param names        source of the names pipelines, {@link #NAMES} unless a benchmark needs more elements
+     * @param signalLogger level and sampling of the signals of every pipeline, each pipeline is sampled on its own
+     */
+    public FluxAndMonoGeneratorService(List<String> names, SignalLogger signalLogger) {
+        this(names, signalLogger, Schedulers.DEFAULT_POOL_SIZE, Schedulers.parallel());
+    }
+
+    /**
+     * @param rails     rails of the *Parallel pipelines, one per core by default
+     * @param scheduler runs the rails of the *Parallel pipelines and the delays of every pipeline,
+     *                  {@link Schedulers#parallel()} by default, which is what delayElements picks on its own
+     */
+    public FluxAndMonoGeneratorService(List<String> names, SignalLogger signalLogger, int rails,
+                                       Scheduler scheduler) {
+        this(names, signalLogger, rails, scheduler, BlockingSchedulers.fromSystemProperty());
+    }
+
+    /**
+     * @param blockingScheduler runs the blocking calls of the pipelines, by default the scheduler shared through
+     *                          {@link BlockingSchedulers#fromSystemProperty()}, boundedElastic unless
+     *                          {@code -Dblocking.scheduler=virtual-threads} is set. Never disposed by the service.
+     */
+    public FluxAndMonoGeneratorService(List<String> names, SignalLogger signalLogger, int rails,
+                                       Scheduler scheduler, Scheduler blockingScheduler) {
+        this.names = List.copyOf(names);
+        this.signalLogger = signalLogger;
+        this.rails = rails;
+        this.scheduler = scheduler;
+        this.blockingScheduler = blockingScheduler;
+    }
+
     /**
      * 01:17:23.976 [main] INFO reactor.Flux.Iterable.1 - | onSubscribe([Synchronous Fuseable] FluxIterable.IterableSubscription)
      * 01:17:23.982 [main] INFO reactor.Flux.Iterable.1 - | request(unbounded)
@@ -27,7 +91,7 @@ public class FluxAndMonoGeneratorService {
      * 01:17:24.018 [main] INFO reactor.Flux.Iterable.1 - | onComplete()
      */
     public Flux<String> namesFlux() {
-        return Flux.fromIterable(NAMES).log();
+        return Flux.fromIterable(names).transform(signals("namesFlux")::flux);
     }
 
     /**
@@ -38,7 +102,7 @@ public class FluxAndMonoGeneratorService {
      * 01:17:24.172 [main] INFO reactor.Mono.Just.2 - | onComplete()
      */
     public Mono<String> nameMono()  {
-        return Mono.just("alex").log();
+        return Mono.just("alex").transform(signals("nameMono")::mono);
     }
 
     /**
@@ -53,7 +117,22 @@ public class FluxAndMonoGeneratorService {
      * ------------------------------------------------------------------------------------------------------------
      */
     public Flux<String> namesFluxMap() {
-        return Flux.fromIterable(NAMES).map(String::toUpperCase).log();
+        return Flux.fromIterable(names).map(String::toUpperCase).transform(signals("namesFluxMap")::flux);
+    }
+
+    /**
+     * namesFluxMap split over the rails. Every name is indexed before the split, ordered() merges the rails back by
+     * that index so the names come out in their original order whatever rail finished first.
+     */
+    public Flux<String> namesFluxMapParallel() {
+        return Flux.fromIterable(names)
+                .index()
+                .parallel(rails)
+                .runOn(scheduler)
+                .map(name -> Tuples.of(name.getT1(), name.getT2().toUpperCase()))
+                .ordered(BY_INDEX)
+                .map(Tuple2::getT2)
+                .transform(signals("namesFluxMapParallel")::flux);
     }
 
     /**
@@ -69,7 +148,7 @@ public class FluxAndMonoGeneratorService {
      * ------------------------------------------------------------------------------------------------------------
      */
     public Flux<String> namesFluxImmutability() {
-        var namesFlux = Flux.fromIterable(NAMES).log();
+        var namesFlux = Flux.fromIterable(names).transform(signals("namesFluxImmutability")::flux);
         // this won't be applied because wasn't applied in the direct function or the operations together in the above
         // line this show why the reactive streams are immutable.
         namesFlux.map(String::toUpperCase);
@@ -88,10 +167,10 @@ public class FluxAndMonoGeneratorService {
      * ------------------------------------------------------------------------------------------------------------
      */
     public Flux<String> namesFluxFilter(int nameFilter) {
-        return Flux.fromIterable(NAMES)
+        return Flux.fromIterable(names)
                 .map(String::toUpperCase)
                 .filter(name -> name.length() > nameFilter)
-                .log();
+                .transform(signals("namesFluxFilter")::flux);
     }
 
     /**
@@ -112,12 +191,29 @@ public class FluxAndMonoGeneratorService {
      * ------------------------------------------------------------------------------------------------------------
      */
     public Flux<String> namesFluxFlatMap(int nameFilter) {
-        return Flux.fromIterable(NAMES)
+        return Flux.fromIterable(names)
                 .map(String::toUpperCase)
                 .filter(name -> name.length() > nameFilter)
                 // A, L, E, X, C, H, L, O, E
-                .flatMap(name -> Flux.fromArray(name.split("")))
-                .log();
+                .flatMap(CodePointFlux::of)
+                .transform(signals("namesFluxFlatMap")::flux);
+    }
+
+    /**
+     * namesFluxFlatMap with the per name work split over the rails. ordered() merges the names back by index and
+     * only then are they split into characters, so the merge orders names rather than characters and the output is
+     * A, L, E, X, C, H, L, O, E as with the single rail version.
+     */
+    public Flux<String> namesFluxFlatMapParallel(int nameFilter) {
+        return Flux.fromIterable(names)
+                .index()
+                .parallel(rails)
+                .runOn(scheduler)
+                .map(name -> Tuples.of(name.getT1(), name.getT2().toUpperCase()))
+                .filter(name -> name.getT2().length() > nameFilter)
+                .ordered(BY_INDEX)
+                .concatMap(name -> CodePointFlux.of(name.getT2()))
+                .transform(signals("namesFluxFlatMapParallel")::flux);
     }
 
     /**
@@ -139,14 +235,30 @@ public class FluxAndMonoGeneratorService {
      * ------------------------------------------------------------------------------------------------------------
      */
     public Flux<String> namesFluxFlatMapDelay(int nameFilter) {
-        return Flux.fromIterable(NAMES)
+        return Flux.fromIterable(names)
                 .map(String::toUpperCase)
                 .filter(name -> name.length() > nameFilter)
                 // A, L, E, X, C, H, L, O, E
                 // with a random delay element we can see onNext method running in parallel not keeping name words order
-                .flatMap(name ->  Flux.fromArray(name.split(""))
-                            .delayElements(ofMillis(parseLong(randomNumeric(3)))))
-                .log();
+                .flatMap(name -> CodePointFlux.of(name)
+                            .delayElements(ofMillis(parseLong(randomNumeric(3))), scheduler))
+                .transform(signals("namesFluxFlatMapDelay")::flux);
+    }
+
+    /**
+     * namesFluxFlatMapDelay split over the rails. Order does not matter here, sequential() merges the rails as the
+     * characters arrive.
+     */
+    public Flux<String> namesFluxFlatMapDelayParallel(int nameFilter) {
+        return Flux.fromIterable(names)
+                .parallel(rails)
+                .runOn(scheduler)
+                .map(String::toUpperCase)
+                .filter(name -> name.length() > nameFilter)
+                .flatMap(name -> CodePointFlux.of(name)
+                        .delayElements(ofMillis(parseLong(randomNumeric(3))), scheduler))
+                .sequential()
+                .transform(signals("namesFluxFlatMapDelayParallel")::flux);
     }
 
     /**
@@ -170,13 +282,13 @@ public class FluxAndMonoGeneratorService {
      * ------------------------------------------------------------------------------------------------------------
      */
     public Flux<String> namesFluxFlatMapConcatMap(int nameFilter) {
-        return Flux.fromIterable(NAMES)
+        return Flux.fromIterable(names)
                 .map(String::toUpperCase)
                 .filter(name -> name.length() > nameFilter)
                 // A, L, E, X, C, H, L, O, E
-                .concatMap(name -> Flux.fromArray(name.split(""))
-                        .delayElements(ofMillis(parseLong(randomNumeric(3)))))
-                .log();
+                .concatMap(name -> CodePointFlux.of(name)
+                        .delayElements(ofMillis(parseLong(randomNumeric(3))), scheduler))
+                .transform(signals("namesFluxFlatMapConcatMap")::flux);
     }
 
     /**
@@ -194,7 +306,7 @@ public class FluxAndMonoGeneratorService {
                 .map(String::toUpperCase)
                 .filter(name -> name.length() > stringLength)
                 .flatMap(name -> Mono.just(List.of(name.split(""))))
-                .log();
+                .transform(signals("namesMonoFlatMapFilter")::mono);
     }
 
     /**
@@ -214,8 +326,8 @@ public class FluxAndMonoGeneratorService {
                 .map(String::toUpperCase)
                 .filter(name -> name.length() > stringLength)
                 // FLUX (A, L, E, X)
-                .flatMapMany(name -> Flux.fromArray(name.split("")))
-                .log();
+                .flatMapMany(CodePointFlux::of)
+                .transform(signals("namesMonoFlatMapMany")::flux);
     }
 
     /**
@@ -242,13 +354,13 @@ public class FluxAndMonoGeneratorService {
                 name -> name.map(String::toUpperCase)
                         .filter(s -> s.length() > stringLength);
 
-        return Flux.fromIterable(NAMES)
+        return Flux.fromIterable(names)
                 .transform(filterMap)
                 //.map(String::toUpperCase)
                 //.filter(name -> name.length() > stringLength)
                 // FLUX (A, L, E, X)
                 .defaultIfEmpty("default")
-                .log();
+                .transform(signals("namesFluxTransform")::flux);
     }
 
     /**
@@ -268,16 +380,16 @@ public class FluxAndMonoGeneratorService {
                 name -> name.map(String::toUpperCase) // default to DEFAULT
                         // filter List.of(NAMES) there is any with length is greater than the param
                         .filter(s -> s.length() > stringLength)
-                        // split D E F A U L T put in a flux array
-                        .flatMap(s -> Flux.fromArray(s.split("")));
+                        // split D E F A U L T into a flux of single characters
+                        .flatMap(CodePointFlux::of);
 
         // D, E, F, A, U, L, T
         var defaultFlux = Flux.just("default").transform(filterMap);
 
-        return Flux.fromIterable(NAMES)
+        return Flux.fromIterable(names)
                 .transform(filterMap) // reuse the function unary created.
                 .switchIfEmpty(defaultFlux) // if empty return the defaultFlux
-                .log();
+                .transform(signals("namesFluxTransformSwitchIfEmpty")::flux);
     }
 
     /**
@@ -295,7 +407,7 @@ public class FluxAndMonoGeneratorService {
         final var abcFlux = Flux.just("A", "B", "C");
         final var defFlux = Flux.just("D", "E", "F");
 
-        return Flux.concat(abcFlux, defFlux).log();
+        return Flux.concat(abcFlux, defFlux).transform(signals("exploreConcat")::flux);
     }
 
     /**
@@ -310,7 +422,7 @@ public class FluxAndMonoGeneratorService {
 
         return aFlux.concatWith(
                 bFlux.concatWith(cdfFlux))
-                .log();
+                .transform(signals("exploreConcatWith")::flux);
     }
 
     /**
@@ -329,11 +441,11 @@ public class FluxAndMonoGeneratorService {
      */
     public Flux<String> exploreMerge() {
         final var abcFlux = Flux.just("A", "B", "C")
-                .delayElements(Duration.ofMillis(100)); //
+                .delayElements(Duration.ofMillis(100), scheduler); //
         final var defFlux = Flux.just("D", "E", "F")
-                .delayElements(Duration.ofMillis(25)); //
+                .delayElements(Duration.ofMillis(25), scheduler); //
 
-        return Flux.merge(abcFlux, defFlux).log();
+        return Flux.merge(abcFlux, defFlux).transform(signals("exploreMerge")::flux);
     }
 
     public Flux<String> exploreMergeWith() {
@@ -341,7 +453,7 @@ public class FluxAndMonoGeneratorService {
         final var bFlux = Mono.just("B");
         final var cdfFlux = Flux.just("C", "A", "E", "F");
 
-        return aFlux.mergeWith(bFlux.mergeWith(cdfFlux)).log();
+        return aFlux.mergeWith(bFlux.mergeWith(cdfFlux)).transform(signals("exploreMergeWith")::flux);
     }
 
     /**
@@ -360,11 +472,11 @@ public class FluxAndMonoGeneratorService {
      */
     public Flux<String> exploreMergeSeq() {
         final var abcFlux = Flux.just("A", "B", "C")
-                .delayElements(Duration.ofMillis(100)); //
+                .delayElements(Duration.ofMillis(100), scheduler); //
         final var defFlux = Flux.just("D", "E", "F")
-                .delayElements(Duration.ofMillis(25)); //
+                .delayElements(Duration.ofMillis(25), scheduler); //
 
-        return Flux.mergeSequential(abcFlux, defFlux).log();
+        return Flux.mergeSequential(abcFlux, defFlux).transform(signals("exploreMergeSeq")::flux);
     }
 
     /**
@@ -379,7 +491,7 @@ public class FluxAndMonoGeneratorService {
         final var abcFlux = Flux.just("A", "B", "C");
         final var defFlux = Flux.just("D", "E", "F");
 
-        return Flux.zip(abcFlux, defFlux).map(a -> a.getT1() + a.getT2()).log();
+        return Flux.zip(abcFlux, defFlux).map(a -> a.getT1() + a.getT2()).transform(signals("exploreZip")::flux);
     }
 
     /**
@@ -398,7 +510,7 @@ public class FluxAndMonoGeneratorService {
 
         return Flux.zip(abcFlux, defFlux, flux123, flux456)
                 .map(a -> a.getT1() + a.getT2() + a.getT3() + a.getT4())
-                .log();
+                .transform(signals("exploreZip1")::flux);
     }
 
     /**
@@ -414,7 +526,7 @@ public class FluxAndMonoGeneratorService {
         final var defFlux = Flux.just("D", "E", "F");
 
         return abcFlux.zipWith(defFlux, (first, second) -> first + second)
-                .log();
+                .transform(signals("exploreZipWithFlux")::flux);
     }
 
     /**
@@ -429,7 +541,23 @@ public class FluxAndMonoGeneratorService {
 
         return abcFlux.zipWith(defFlux)
                 .map(a -> a.getT1() + a.getT2())
-                .log();
+                .transform(signals("exploreZipWithMono")::mono);
+    }
+
+    /**
+     * Bridges a blocking lookup, for instance a JDBC or a legacy client call, into the names pipeline. Every call is
+     * subscribed on the blocking scheduler so up to {@code concurrency} of them block at the same time, none of them
+     * on the thread of the pipeline. flatMapSequential keeps the order of the names.
+     */
+    public Flux<String> namesFluxBlockingLookup(UnaryOperator<String> blockingLookup, int concurrency) {
+        return Flux.fromIterable(names)
+                .flatMapSequential(name -> Mono.fromCallable(() -> blockingLookup.apply(name))
+                        .subscribeOn(blockingScheduler), concurrency, 1)
+                .transform(signals("namesFluxBlockingLookup")::flux);
+    }
+
+    private SignalLogger signals(String pipeline) {
+        return pipelineLoggers.computeIfAbsent(pipeline, signalLogger::forPipeline);
     }
 
     public static void main(String[] args) {
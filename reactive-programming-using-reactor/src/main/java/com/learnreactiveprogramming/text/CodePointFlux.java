@@ -0,0 +1,155 @@
+package com.learnreactiveprogramming.text;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Emits the code points of a string, one single character string each, in place of
+ * {@code Flux.fromArray(text.split(""))}. The string is read in place: no regex, no array, and the strings of the
+ * Latin-1 code points are cached, only the other code points allocate a string.
+ * <p>
+ * Emission follows the requests of the subscriber, or is polled directly by operators that fuse with a synchronous
+ * source, such as the inner subscribers of flatMap.
+ */
+public final class CodePointFlux extends Flux<String> implements Fuseable {
+
+    private static final String[] LATIN_1 = new String[256];
+
+    static {
+        for (var c = 0; c < LATIN_1.length; c++) {
+            LATIN_1[c] = String.valueOf((char) c);
+        }
+    }
+
+    private final String text;
+
+    private CodePointFlux(String text) {
+        this.text = text;
+    }
+
+    public static Flux<String> of(String text) {
+        if (text.isEmpty()) {
+            return Flux.empty();
+        }
+        return onAssembly(new CodePointFlux(text));
+    }
+
+    static String codePoint(int codePoint) {
+        return codePoint < LATIN_1.length ? LATIN_1[codePoint] : new String(Character.toChars(codePoint));
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super String> actual) {
+        actual.onSubscribe(new CodePointSubscription(actual, text));
+    }
+
+    static final class CodePointSubscription implements Fuseable.SynchronousSubscription<String> {
+
+        private static final AtomicLongFieldUpdater<CodePointSubscription> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(CodePointSubscription.class, "requested");
+
+        private final CoreSubscriber<? super String> actual;
+        private final String text;
+
+        private int index;
+        private volatile boolean cancelled;
+        private volatile long requested;
+
+        CodePointSubscription(CoreSubscriber<? super String> actual, String text) {
+            this.actual = actual;
+            this.text = text;
+        }
+
+        @Override
+        public void request(long n) {
+            if (Operators.validate(n) && Operators.addCap(REQUESTED, this, n) == 0) {
+                if (n == Long.MAX_VALUE) {
+                    fastPath();
+                } else {
+                    slowPath(n);
+                }
+            }
+        }
+
+        private void fastPath() {
+            var length = text.length();
+            while (index < length) {
+                if (cancelled) {
+                    return;
+                }
+                actual.onNext(next());
+            }
+            if (!cancelled) {
+                actual.onComplete();
+            }
+        }
+
+        private void slowPath(long n) {
+            var length = text.length();
+            var emitted = 0L;
+            for (; ; ) {
+                while (emitted != n && index < length) {
+                    if (cancelled) {
+                        return;
+                    }
+                    actual.onNext(next());
+                    emitted++;
+                }
+                if (index == length) {
+                    if (!cancelled) {
+                        actual.onComplete();
+                    }
+                    return;
+                }
+                n = requested;
+                if (n == emitted) {
+                    n = REQUESTED.addAndGet(this, -emitted);
+                    if (n == 0) {
+                        return;
+                    }
+                    emitted = 0L;
+                }
+            }
+        }
+
+        private String next() {
+            var codePoint = text.codePointAt(index);
+            index += Character.charCount(codePoint);
+            return codePoint(codePoint);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            return requestedMode & Fuseable.SYNC;
+        }
+
+        @Override
+        public String poll() {
+            return index < text.length() ? next() : null;
+        }
+
+        @Override
+        public int size() {
+            return text.codePointCount(index, text.length());
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return index == text.length();
+        }
+
+        @Override
+        public void clear() {
+            index = text.length();
+        }
+    }
+}
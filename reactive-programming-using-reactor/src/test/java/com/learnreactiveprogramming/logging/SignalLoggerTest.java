@@ -0,0 +1,162 @@
+package com.learnreactiveprogramming.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SignalLoggerTest {
+
+    private static final String CATEGORY = "signal-logger-test";
+
+    Logger logger = (Logger) LoggerFactory.getLogger(CATEGORY);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        logger.setLevel(ch.qos.logback.classic.Level.DEBUG);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    void flux() {
+        //given
+        var signalLogger = SignalLogger.of(CATEGORY);
+
+        //when
+        var flux = Flux.just("alex", "ben").transform(signalLogger::flux);
+
+        //then
+        StepVerifier.create(flux)
+                .expectNext("alex", "ben")
+                .verifyComplete();
+        assertEquals(List.of("onNext(alex)", "onNext(ben)", "onComplete()"), messages());
+    }
+
+    @Test
+    void mono() {
+        //given
+        var signalLogger = SignalLogger.of(CATEGORY).atLevel(Level.INFO);
+
+        //when
+        var mono = Mono.just("alex").transform(signalLogger::mono);
+
+        //then
+        StepVerifier.create(mono)
+                .expectNext("alex")
+                .verifyComplete();
+        assertEquals(List.of("onNext(alex)", "onComplete()"), messages());
+        assertEquals(ch.qos.logback.classic.Level.INFO, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    void disabledLevel() {
+        //given
+        var signalLogger = SignalLogger.of(CATEGORY).atLevel(Level.TRACE);
+
+        //when
+        var flux = Flux.range(1, 10).transform(signalLogger::flux);
+
+        //then
+        StepVerifier.create(flux)
+                .expectNextCount(10)
+                .verifyComplete();
+        assertEquals(List.of(), messages());
+    }
+
+    @Test
+    void sampleOneIn() {
+        //given
+        var signalLogger = SignalLogger.of(CATEGORY).sampleOneIn(4);
+
+        //when
+        var flux = Flux.range(0, 10).transform(signalLogger::flux);
+
+        //then
+        StepVerifier.create(flux)
+                .expectNextCount(10)
+                .verifyComplete();
+        assertEquals(List.of("onNext(0)", "onNext(4)", "onNext(8)"), messages());
+    }
+
+    @Test
+    void maxPerSecond() {
+        //given
+        var signalLogger = SignalLogger.of(CATEGORY).maxPerSecond(2);
+
+        //when
+        var flux = Flux.range(0, 10).transform(signalLogger::flux);
+
+        //then
+        StepVerifier.create(flux)
+                .expectNextCount(10)
+                .verifyComplete();
+        assertEquals(List.of("onNext(0)", "onNext(1)"), messages());
+    }
+
+    @Test
+    void errorsAreNotSampled() {
+        //given
+        var signalLogger = SignalLogger.of(CATEGORY).atLevel(Level.TRACE).sampleOneIn(1000);
+
+        //when
+        var flux = Flux.just("alex")
+                .concatWith(Flux.error(new IllegalStateException("boom")))
+                .transform(signalLogger::flux);
+
+        //then
+        StepVerifier.create(flux)
+                .expectNext("alex")
+                .verifyError(IllegalStateException.class);
+        assertEquals(List.of("onError(java.lang.IllegalStateException: boom)"), messages());
+    }
+
+    @Test
+    void forPipeline() {
+        //given
+        var signalLogger = SignalLogger.of(CATEGORY).sampleOneIn(2);
+
+        //when
+        var first = Flux.range(0, 3).transform(signalLogger.forPipeline("first")::flux);
+        var second = Flux.range(0, 3).transform(signalLogger.forPipeline("second")::flux);
+
+        //then
+        StepVerifier.create(first.concatWith(second))
+                .expectNextCount(6)
+                .verifyComplete();
+        assertEquals(List.of(CATEGORY + ".first", CATEGORY + ".first", CATEGORY + ".second", CATEGORY + ".second"),
+                appender.list.stream().map(ILoggingEvent::getLoggerName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void invalidSampling() {
+        var signalLogger = SignalLogger.of(CATEGORY);
+
+        assertThrows(IllegalArgumentException.class, () -> signalLogger.sampleOneIn(0));
+        assertThrows(IllegalArgumentException.class, () -> signalLogger.maxPerSecond(0));
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,61 @@
+package com.learnreactiveprogramming.scheduler;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BlockingSchedulersTest {
+
+    @Test
+    void parse() {
+        assertEquals(BlockingSchedulers.Mode.VIRTUAL_THREADS, BlockingSchedulers.Mode.parse("virtual-threads"));
+        assertEquals(BlockingSchedulers.Mode.BOUNDED_ELASTIC, BlockingSchedulers.Mode.parse("BOUNDED_ELASTIC"));
+    }
+
+    @Test
+    void boundedElastic() {
+        assertSame(Schedulers.boundedElastic(), BlockingSchedulers.create(BlockingSchedulers.Mode.BOUNDED_ELASTIC));
+    }
+
+    @Test
+    void fromSystemPropertyDefaultsToBoundedElastic() {
+        assumeTrue(System.getProperty(BlockingSchedulers.MODE_PROPERTY) == null);
+
+        assertSame(Schedulers.boundedElastic(), BlockingSchedulers.fromSystemProperty());
+    }
+
+    @Test
+    void fromSystemPropertyIsCreatedOnce() {
+        assertSame(BlockingSchedulers.fromSystemProperty(), BlockingSchedulers.fromSystemProperty());
+    }
+
+    @Test
+    void virtualThreadsFallBackToBoundedElastic() {
+        assumeFalse(BlockingSchedulers.virtualThreadsAvailable());
+
+        assertSame(Schedulers.boundedElastic(), BlockingSchedulers.create(BlockingSchedulers.Mode.VIRTUAL_THREADS));
+    }
+
+    @Test
+    void virtualThreads() {
+        assumeTrue(BlockingSchedulers.virtualThreadsAvailable());
+
+        //given
+        var scheduler = BlockingSchedulers.create(BlockingSchedulers.Mode.VIRTUAL_THREADS);
+
+        //when
+        var threadName = Mono.fromCallable(() -> Thread.currentThread().getName()).subscribeOn(scheduler);
+
+        //then
+        StepVerifier.create(threadName)
+                .expectNextMatches(name -> name.startsWith("virtual-"))
+                .verifyComplete();
+        scheduler.dispose();
+    }
+}
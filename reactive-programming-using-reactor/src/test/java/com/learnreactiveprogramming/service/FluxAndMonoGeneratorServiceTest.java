@@ -3,12 +3,27 @@ package com.learnreactiveprogramming.service;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import com.learnreactiveprogramming.logging.SignalLogger;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.learnreactiveprogramming.service.FluxAndMonoGeneratorService.NAMES;
 
 class FluxAndMonoGeneratorServiceTest {
     FluxAndMonoGeneratorService service = new FluxAndMonoGeneratorService();
+    SignalLogger signalLogger = SignalLogger.of(FluxAndMonoGeneratorService.class);
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
 
     @Test
     void namesFlux() {
@@ -286,4 +301,83 @@ class FluxAndMonoGeneratorServiceTest {
                 .expectNext("AD")
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void namesFluxMapParallel() {
+        //given
+
+        //when
+        var namesFlux = service.namesFluxMapParallel();
+
+        //then
+        StepVerifier.create(namesFlux)
+                .expectNext("ALEX", "BEN", "CHLOE")
+                .verifyComplete();
+    }
+
+    @Test
+    void namesFluxMapParallelKeepsTheOrderOfTheNames() {
+        //given
+        var names = IntStream.range(0, 1000).mapToObj(i -> "name" + i).collect(Collectors.toList());
+        var parallelService = new FluxAndMonoGeneratorService(names, signalLogger, 4, Schedulers.parallel());
+
+        //when
+        var namesFlux = parallelService.namesFluxMapParallel();
+
+        //then
+        StepVerifier.create(namesFlux)
+                .expectNextSequence(names.stream().map(String::toUpperCase).collect(Collectors.toList()))
+                .verifyComplete();
+    }
+
+    @Test
+    void namesFluxFlatMapParallel() {
+        //given
+        var parallelService = new FluxAndMonoGeneratorService(NAMES, signalLogger, 3, Schedulers.parallel());
+
+        //when
+        var namesFlux = parallelService.namesFluxFlatMapParallel(3);
+
+        //then
+        StepVerifier.create(namesFlux)
+                .expectNext("A", "L", "E", "X", "C", "H", "L", "O", "E")
+                .verifyComplete();
+    }
+
+    @Test
+    void namesFluxFlatMapDelayParallel() {
+        //given
+        var parallelService = new FluxAndMonoGeneratorService(NAMES, signalLogger, 3, scheduler);
+
+        //when
+        var namesFlux = parallelService.namesFluxFlatMapDelayParallel(3);
+
+        //then
+        StepVerifier.create(namesFlux)
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(5)))
+                .expectNextCount(9)
+                .verifyComplete();
+    }
+
+    @Test
+    void namesFluxBlockingLookup() {
+        //given
+        var blockingService = new FluxAndMonoGeneratorService(NAMES, signalLogger, 2, Schedulers.parallel(),
+                Schedulers.boundedElastic());
+
+        //when
+        var namesFlux = blockingService.namesFluxBlockingLookup(name -> {
+            try {
+                Thread.sleep(10L * name.length());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return name + "@" + Thread.currentThread().getName().startsWith("boundedElastic");
+        }, 3);
+
+        //then
+        StepVerifier.create(namesFlux)
+                .expectNext("alex@true", "ben@true", "chloe@true")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,89 @@
+package com.learnreactiveprogramming.text;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CodePointFluxTest {
+
+    @Test
+    void of() {
+        //when
+        var codePoints = CodePointFlux.of("ALEX");
+
+        //then
+        StepVerifier.create(codePoints)
+                .expectNext("A", "L", "E", "X")
+                .verifyComplete();
+    }
+
+    @Test
+    void ofEmpty() {
+        StepVerifier.create(CodePointFlux.of(""))
+                .verifyComplete();
+    }
+
+    @Test
+    void ofSurrogatePairs() {
+        //given
+        var text = "a\ud83d\ude00\u00e9";
+
+        //when
+        var codePoints = CodePointFlux.of(text);
+
+        //then
+        StepVerifier.create(codePoints)
+                .expectNext("a", "\ud83d\ude00", "\u00e9")
+                .verifyComplete();
+    }
+
+    @Test
+    void backpressure() {
+        StepVerifier.create(CodePointFlux.of("CHLOE"), 0)
+                .expectSubscription()
+                .thenRequest(2)
+                .expectNext("C", "H")
+                .thenRequest(1)
+                .expectNext("L")
+                .thenRequest(10)
+                .expectNext("O", "E")
+                .verifyComplete();
+    }
+
+    @Test
+    void cancel() {
+        StepVerifier.create(CodePointFlux.of("CHLOE").take(2))
+                .expectNext("C", "H")
+                .verifyComplete();
+    }
+
+    @Test
+    void syncFusion() {
+        StepVerifier.create(CodePointFlux.of("BEN"))
+                .expectFusion(Fuseable.SYNC)
+                .expectNext("B", "E", "N")
+                .verifyComplete();
+    }
+
+    @Test
+    void flatMapFusesWithTheInnerSource() {
+        //when
+        var codePoints = Flux.fromIterable(List.of("ALEX", "CHLOE")).flatMap(CodePointFlux::of);
+
+        //then
+        StepVerifier.create(codePoints)
+                .expectNext("A", "L", "E", "X", "C", "H", "L", "O", "E")
+                .verifyComplete();
+    }
+
+    @Test
+    void latin1StringsAreCached() {
+        assertSame(CodePointFlux.codePoint('A'), CodePointFlux.of("A").blockFirst());
+        assertSame(CodePointFlux.codePoint(0xe9), CodePointFlux.of("\u00e9").blockFirst());
+    }
+}